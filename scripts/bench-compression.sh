@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+#
+# Measures bytes on the wire and p50/p99 latency of
+# GET /api/animals?detailLevel=FULL for pages of 10, 100 and 1000 animals,
+# with and without gzip, over HTTP/1.1 and h2c.
+#
+# Usage: scripts/bench-compression.sh [base_url] [requests_per_case]
+# Requires a running server, curl with HTTP/2 support and awk.
+
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+REQUESTS="${2:-50}"
+PAGE_SIZES=(10 100 1000)
+EMAIL="bench-$(date +%s)@example.com"
+PASSWORD="Password1!"
+
+json_field() {
+    sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p"
+}
+
+echo "Registering benchmark user ${EMAIL}"
+curl -sf -o /dev/null -H "Content-Type: application/json" \
+    -d "{\"name\":\"Bench\",\"surname\":\"User\",\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}" \
+    "${BASE_URL}/api/auth/register"
+
+TOKEN=$(curl -sf -H "Content-Type: application/json" \
+    -d "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}" \
+    "${BASE_URL}/api/auth/login" | json_field token)
+
+echo "Seeding 1000 animals through the bulk import endpoint"
+SEED_FILE=$(mktemp)
+trap 'rm -f "${SEED_FILE}"' EXIT
+for i in $(seq 1 1000); do
+    case $((i % 3)) in
+        0) echo "{\"name\":\"Dog ${i}\",\"birthDate\":\"2019-04-12\",\"gender\":\"Male\",\"color\":\"Brown\",\"weightKg\":24.5,\"animalType\":\"DOG\",\"breed\":\"Golden Retriever\",\"size\":\"Large\",\"coatType\":\"Double\",\"notes\":\"Friendly, eats twice a day\",\"diet\":\"Dry food\"}" ;;
+        1) echo "{\"name\":\"Cat ${i}\",\"birthDate\":\"2020-06-01\",\"gender\":\"Female\",\"color\":\"Black\",\"weightKg\":4.2,\"animalType\":\"CAT\",\"breed\":\"Siamese\",\"coatType\":\"Short\",\"indoorOnly\":true,\"notes\":\"Sleeps all day\",\"diet\":\"Wet food\"}" ;;
+        *) echo "{\"name\":\"Fish ${i}\",\"birthDate\":\"2022-03-01\",\"gender\":\"Male\",\"color\":\"Orange\",\"weightKg\":0.05,\"animalType\":\"FISH\",\"species\":\"Clownfish\",\"waterType\":\"saltwater\",\"waterTemperature\":25.5,\"phLevel\":8.2}" ;;
+    esac
+done > "${SEED_FILE}"
+curl -sf -o /dev/null -H "Authorization: Bearer ${TOKEN}" -H "Content-Type: application/x-ndjson" \
+    --data-binary "@${SEED_FILE}" "${BASE_URL}/api/animals/import"
+
+# Prints "<bytes> <p50 ms> <p99 ms>" for one combination of page size, encoding and protocol
+run_case() {
+    local size=$1 encoding=$2 protocol=$3
+    local url="${BASE_URL}/api/animals?detailLevel=FULL&paginated=true&size=${size}"
+    local bytes times
+
+    bytes=$(curl -s -o /dev/null "${protocol}" -H "Authorization: Bearer ${TOKEN}" \
+        -H "Accept-Encoding: ${encoding}" -w '%{size_download}' "${url}")
+
+    times=$(for _ in $(seq 1 "${REQUESTS}"); do
+        curl -s -o /dev/null "${protocol}" -H "Authorization: Bearer ${TOKEN}" \
+            -H "Accept-Encoding: ${encoding}" -w '%{time_total}\n' "${url}"
+    done | sort -n)
+
+    echo "${times}" | awk -v bytes="${bytes}" '
+        { t[NR] = $1 * 1000 }
+        END {
+            p50 = t[int((NR - 1) * 0.50) + 1]
+            p99 = t[int((NR - 1) * 0.99) + 1]
+            printf "%s %.1f %.1f\n", bytes, p50, p99
+        }'
+}
+
+printf "\n%-6s %-9s %-9s %12s %10s %10s\n" "size" "protocol" "encoding" "bytes" "p50 (ms)" "p99 (ms)"
+for size in "${PAGE_SIZES[@]}"; do
+    for protocol in "--http1.1" "--http2-prior-knowledge"; do
+        for encoding in "identity" "gzip"; do
+            read -r bytes p50 p99 < <(run_case "${size}" "${encoding}" "${protocol}")
+            label=$([ "${protocol}" = "--http1.1" ] && echo "http/1.1" || echo "h2c")
+            printf "%-6s %-9s %-9s %12s %10s %10s\n" "${size}" "${label}" "${encoding}" "${bytes}" "${p50}" "${p99}"
+        done
+    done
+done
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# Measures the time until the application has started (Spring's
+# "process running for") when launched as the plain executable jar, as the
+# extracted jar, with Spring AOT, with AOT and the CDS archive, and on JDK 24+
+# with an AOT cache (JEP 483) instead of the CDS archive.
+#
+# Usage: scripts/bench-startup.sh [runs_per_mode]
+# Requires ./mvnw -Paot package and the database of application.properties to
+# be reachable. Extra JVM options (e.g. -Dspring.datasource.url=...) are taken
+# from JAVA_OPTS.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+APP_DIR="${TARGET_DIR}/application"
+JAR_NAME="PetManagerAPI-0.0.1-SNAPSHOT.jar"
+TRAINING_ARGS="-Dspring.context.exit=onRefresh -Dspring.jpa.hibernate.ddl-auto=none -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"
+TIMEOUT_SECONDS=120
+
+if [ ! -f "${TARGET_DIR}/${JAR_NAME}" ] || [ ! -f "${APP_DIR}/application.jsa" ]; then
+    echo "Build first with: ./mvnw -Paot package" >&2
+    exit 1
+fi
+
+LOG_FILE=$(mktemp)
+TIMES_FILE=$(mktemp)
+trap 'rm -f "${LOG_FILE}" "${TIMES_FILE}"' EXIT
+
+# Prints the seconds until startup for one run of: <working dir> <java args...>
+start_once() {
+    local dir=$1
+    shift
+    # shellcheck disable=SC2086
+    (cd "${dir}" && exec java ${JAVA_OPTS} "$@" --server.port=0) > "${LOG_FILE}" 2>&1 &
+    local pid=$! waited=0 seconds=""
+
+    while [ -z "${seconds}" ]; do
+        if ! kill -0 "${pid}" 2>/dev/null || [ "${waited}" -ge $((TIMEOUT_SECONDS * 10)) ]; then
+            kill "${pid}" 2>/dev/null || true
+            echo "Startup failed, last lines of the log:" >&2
+            tail -20 "${LOG_FILE}" >&2
+            exit 1
+        fi
+        sleep 0.1
+        waited=$((waited + 1))
+        seconds=$(sed -n 's/.*Started .* (process running for \([0-9.]*\)).*/\1/p' "${LOG_FILE}")
+    done
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${seconds}"
+}
+
+# Starts RUNS times and prints "<min ms> <median ms> <max ms>". start_once runs
+# in this shell, not in a pipeline, so a failed startup ends the script
+print_mode() {
+    local label=$1 min median max
+    shift
+    : > "${TIMES_FILE}"
+    for _ in $(seq 1 "${RUNS}"); do
+        start_once "$@" >> "${TIMES_FILE}"
+    done
+
+    read -r min median max < <(sort -n "${TIMES_FILE}" | awk '
+        { t[NR] = $1 * 1000 }
+        END { printf "%.0f %.0f %.0f\n", t[1], t[int((NR + 1) / 2)], t[NR] }')
+    printf "%-12s %12s %12s %12s\n" "${label}" "${min}" "${median}" "${max}"
+}
+
+printf "\n%-12s %12s %12s %12s\n" "mode" "min (ms)" "median (ms)" "max (ms)"
+print_mode "jar" "${TARGET_DIR}" -jar "${JAR_NAME}"
+print_mode "extracted" "${APP_DIR}" -jar "${JAR_NAME}"
+print_mode "aot" "${APP_DIR}" -Dspring.aot.enabled=true -jar "${JAR_NAME}"
+print_mode "aot+cds" "${APP_DIR}" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "${JAR_NAME}"
+
+if java -XX:AOTMode=off -version > /dev/null 2>&1; then
+    if [ ! -f "${APP_DIR}/application.aot" ]; then
+        echo "Creating the AOT cache" >&2
+        # shellcheck disable=SC2086
+        (cd "${APP_DIR}" \
+            && java -XX:AOTMode=record -XX:AOTConfiguration=application.aotconf -Dspring.aot.enabled=true \
+                ${TRAINING_ARGS} -jar "${JAR_NAME}" \
+            && java -XX:AOTMode=create -XX:AOTConfiguration=application.aotconf -XX:AOTCache=application.aot \
+                -jar "${JAR_NAME}") > "${LOG_FILE}" 2>&1 || {
+            echo "Creating the AOT cache failed, last lines of the log:" >&2
+            tail -20 "${LOG_FILE}" >&2
+            exit 1
+        }
+    fi
+    print_mode "aot+leyden" "${APP_DIR}" -XX:AOTCache=application.aot -Dspring.aot.enabled=true -jar "${JAR_NAME}"
+else
+    echo "Skipping aot+leyden: the AOT cache needs JDK 24 or later" >&2
+fi
@@ -0,0 +1,204 @@
+package com.example.demo.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.DetailLevel;
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.dto.UserDTO;
+import com.example.demo.entities.*;
+import com.example.demo.enums.AnimalType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Compares the EnumMap/typed-record mapping of {@link AnimalDTO#fromEntity}
+ * against the previous instanceof chain with a HashMap of boxed specific fields,
+ * for a FULL-detail page of animals, and measures the BASIC mapping used by
+ * list endpoints. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimalDTOMappingBenchmark {
+
+    @Param({ "10000" })
+    private int pageSize;
+
+    private List<Animal> animals;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        animals = BenchmarkFixtures.animals(pageSize, 2);
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public List<AnimalDTO> mapFull() {
+        List<AnimalDTO> page = new ArrayList<>(animals.size());
+        for (Animal animal : animals) {
+            page.add(AnimalDTO.fromEntity(animal, DetailLevel.FULL));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<AnimalDTO> mapBasic() {
+        List<AnimalDTO> page = new ArrayList<>(animals.size());
+        for (Animal animal : animals) {
+            page.add(AnimalDTO.fromEntity(animal, DetailLevel.BASIC));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<LegacyAnimalDTO> mapFullLegacy() {
+        return animals.stream()
+                .map(LegacyAnimalDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeFull() throws Exception {
+        return objectMapper.writeValueAsBytes(mapFull());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeFullLegacy() throws Exception {
+        return objectMapper.writeValueAsBytes(mapFullLegacy());
+    }
+
+    /**
+     * Copy of the FULL-detail mapping as it was before the per-type mappers,
+     * kept only as a benchmark baseline
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LegacyAnimalDTO {
+        public Long id;
+        public String name;
+        public LocalDate birthDate;
+        public LocalDate registrationDate;
+        public Double weightKg;
+        public String color;
+        public String gender;
+        public AnimalType animalType;
+        public String notes;
+        public String diet;
+        public boolean neutered;
+        public LocalDate lastDeworming;
+        public UserDTO owner;
+        public List<HealthIssueDTO> healthIssues;
+        public Map<String, Object> specificFields = new HashMap<>();
+
+        static LegacyAnimalDTO fromEntity(Animal animal) {
+            LegacyAnimalDTO dto = new LegacyAnimalDTO();
+            dto.id = animal.getId();
+            dto.name = animal.getName();
+            dto.birthDate = animal.getBirthDate();
+            dto.registrationDate = animal.getRegistrationDate();
+            dto.weightKg = animal.getWeightKg();
+            dto.color = animal.getColor();
+            dto.gender = animal.getGender();
+
+            if (animal instanceof Dog) {
+                dto.animalType = AnimalType.DOG;
+            } else if (animal instanceof Cat) {
+                dto.animalType = AnimalType.CAT;
+            } else if (animal instanceof Bird) {
+                dto.animalType = AnimalType.BIRD;
+            } else if (animal instanceof Reptile) {
+                dto.animalType = AnimalType.REPTILE;
+            } else if (animal instanceof Fish) {
+                dto.animalType = AnimalType.FISH;
+            } else if (animal instanceof Rodent) {
+                dto.animalType = AnimalType.RODENT;
+            } else {
+                dto.animalType = AnimalType.OTHER;
+            }
+
+            dto.notes = animal.getNotes();
+            dto.diet = animal.getDiet();
+            dto.neutered = animal.isNeutered();
+            dto.lastDeworming = animal.getLastDeworming();
+            dto.owner = UserDTO.fromEntity(animal.getUser());
+            if (!animal.getHealthIssues().isEmpty()) {
+                dto.healthIssues = animal.getHealthIssues().stream()
+                        .map(HealthIssueDTO::fromEntity)
+                        .collect(Collectors.toList());
+            }
+
+            switch (dto.animalType) {
+                case DOG -> {
+                    Dog dog = (Dog) animal;
+                    dto.specificFields.put("breed", dog.getBreed());
+                    dto.specificFields.put("size", dog.getSize());
+                    dto.specificFields.put("coatType", dog.getCoatType());
+                    dto.specificFields.put("pedigree", dog.isPedigree());
+                }
+                case CAT -> {
+                    Cat cat = (Cat) animal;
+                    dto.specificFields.put("breed", cat.getBreed());
+                    dto.specificFields.put("coatType", cat.getCoatType());
+                    dto.specificFields.put("indoorOnly", cat.isIndoorOnly());
+                }
+                case BIRD -> {
+                    Bird bird = (Bird) animal;
+                    dto.specificFields.put("species", bird.getSpecies());
+                    dto.specificFields.put("clippedWings", bird.isClippedWings());
+                    dto.specificFields.put("talkingAbility", bird.isTalkingAbility());
+                }
+                case REPTILE -> {
+                    Reptile reptile = (Reptile) animal;
+                    dto.specificFields.put("species", reptile.getSpecies());
+                    dto.specificFields.put("habitatType", reptile.getHabitatType());
+                    dto.specificFields.put("temperatureRequirements", reptile.getTemperatureRequirements());
+                    dto.specificFields.put("venomous", reptile.isVenomous());
+                }
+                case FISH -> {
+                    Fish fish = (Fish) animal;
+                    dto.specificFields.put("species", fish.getSpecies());
+                    dto.specificFields.put("waterType", fish.getWaterType());
+                    dto.specificFields.put("waterTemperature", fish.getWaterTemperature());
+                    dto.specificFields.put("phLevel", fish.getPhLevel());
+                    dto.specificFields.put("socialBehavior", fish.getSocialBehavior());
+                }
+                case RODENT -> {
+                    Rodent rodent = (Rodent) animal;
+                    dto.specificFields.put("species", rodent.getSpecies());
+                    dto.specificFields.put("cageTrained", rodent.isCageTrained());
+                    dto.specificFields.put("lifespanYears", rodent.getLifespanYears());
+                    dto.specificFields.put("teethCondition", rodent.getTeethCondition());
+                }
+                default -> {
+                }
+            }
+
+            return dto;
+        }
+    }
+}
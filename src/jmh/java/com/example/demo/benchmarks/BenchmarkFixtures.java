@@ -0,0 +1,117 @@
+package com.example.demo.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.demo.entities.*;
+
+/**
+ * Deterministic in-memory entities shared by the benchmarks.
+ * Nothing here touches a database or a Spring context.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User owner() {
+        User user = new User("Ana", "García", "ana@example.com", "Password1!");
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * Build a page of animals cycling through every concrete type,
+     * each with the given number of health issues
+     */
+    static List<Animal> animals(int count, int healthIssuesPerAnimal) {
+        User owner = owner();
+        LocalDate birthDate = LocalDate.of(2019, 4, 12);
+        List<Animal> animals = new ArrayList<>(count);
+        long healthIssueId = 1;
+
+        for (int i = 0; i < count; i++) {
+            Animal animal = switch (i % 6) {
+                case 0 -> {
+                    Dog dog = new Dog("Dog " + i, birthDate, 24.5, "Brown", "Male", true,
+                            "Golden Retriever", "Large", "Double coat");
+                    dog.setPedigree(true);
+                    yield dog;
+                }
+                case 1 -> new Cat("Cat " + i, birthDate, 4.2, "Black", "Female", true,
+                        "Siamese", "Short", true);
+                case 2 -> {
+                    Bird bird = new Bird("Bird " + i, birthDate, 0.1, "Green", "Male", false,
+                            "Parakeet", false);
+                    bird.setTalkingAbility(true);
+                    yield bird;
+                }
+                case 3 -> {
+                    Reptile reptile = new Reptile("Reptile " + i, birthDate, 1.3, "Green", "Female", false,
+                            "Bearded dragon", "Desert");
+                    reptile.setTemperatureRequirements("26-35C");
+                    yield reptile;
+                }
+                case 4 -> {
+                    Fish fish = new Fish("Fish " + i, birthDate, 0.05, "Orange", "Male", false,
+                            "Clownfish", "Saltwater");
+                    fish.setWaterTemperature(25.5);
+                    fish.setPhLevel(8.2);
+                    fish.setSocialBehavior("Pairs");
+                    yield fish;
+                }
+                default -> {
+                    Rodent rodent = new Rodent("Rodent " + i, birthDate, 0.9, "White", "Female", false,
+                            "Guinea pig", true);
+                    rodent.setLifespanYears(6);
+                    rodent.setTeethCondition("Good");
+                    yield rodent;
+                }
+            };
+
+            animal.setId((long) i + 1);
+            animal.setNotes("Friendly, eats twice a day");
+            animal.setDiet("Dry food");
+            animal.setLastDeworming(LocalDate.of(2024, 1, 10));
+            animal.setUser(owner);
+
+            for (int h = 0; h < healthIssuesPerAnimal; h++) {
+                HealthIssue issue = new HealthIssue("Otitis", "Inflamed left ear", LocalDate.of(2024, 2, 1),
+                        null, "Ear drops twice a day", animal);
+                issue.setId(healthIssueId++);
+                animal.addHealthIssue(issue);
+            }
+
+            animals.add(animal);
+        }
+
+        return animals;
+    }
+
+    /**
+     * Build vaccines for a single animal, alternating pending and applied ones
+     */
+    static List<Vaccine> vaccines(int count) {
+        Animal animal = animals(1, 0).get(0);
+        List<Vaccine> vaccines = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Vaccine vaccine = i % 2 == 0
+                    ? new Vaccine("Rabies " + i, null, LocalDate.of(2026, 5, 1), "Annual booster")
+                    : new Vaccine("Distemper " + i, LocalDate.of(2024, 3, 15), null, "Puppy series");
+            vaccine.setId((long) i + 1);
+            vaccine.setAnimal(animal);
+            vaccines.add(vaccine);
+        }
+
+        return vaccines;
+    }
+
+    /**
+     * Build health issues for a single animal
+     */
+    static List<HealthIssue> healthIssues(int count) {
+        return new ArrayList<>(animals(1, count).get(0).getHealthIssues());
+    }
+}
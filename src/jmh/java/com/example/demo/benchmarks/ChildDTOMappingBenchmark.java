@@ -0,0 +1,65 @@
+package com.example.demo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.dto.VaccineDTO;
+import com.example.demo.entities.HealthIssue;
+import com.example.demo.entities.Vaccine;
+
+/**
+ * Mapping cost of the vaccine and health issue pages returned by the
+ * per-animal endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildDTOMappingBenchmark {
+
+    @Param({ "10", "1000" })
+    private int pageSize;
+
+    private List<Vaccine> vaccines;
+    private List<HealthIssue> healthIssues;
+
+    @Setup
+    public void setUp() {
+        vaccines = BenchmarkFixtures.vaccines(pageSize);
+        healthIssues = BenchmarkFixtures.healthIssues(pageSize);
+    }
+
+    @Benchmark
+    public List<VaccineDTO> mapVaccines() {
+        List<VaccineDTO> page = new ArrayList<>(vaccines.size());
+        for (Vaccine vaccine : vaccines) {
+            page.add(VaccineDTO.fromEntity(vaccine));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<HealthIssueDTO> mapHealthIssues() {
+        List<HealthIssueDTO> page = new ArrayList<>(healthIssues.size());
+        for (HealthIssue issue : healthIssues) {
+            page.add(HealthIssueDTO.fromEntity(issue));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.security.JwtConfig;
+import com.example.demo.security.JwtTokenUtil;
+
+/**
+ * Token operations performed on every authenticated request (extract and
+ * validate in JwtRequestFilter) and on every login (generate).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private static final Long USER_ID = 42L;
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", "benchmark-secret-key-with-at-least-256-bits-of-entropy");
+        jwtConfig.init();
+
+        jwtTokenUtil = new JwtTokenUtil(jwtConfig.jwtSecretKey(), jwtConfig);
+        token = jwtTokenUtil.generateToken(USER_ID);
+        userDetails = User.withUsername(USER_ID.toString())
+                .password("unused")
+                .authorities(List.of())
+                .build();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(USER_ID);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtTokenUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenUtil.validateToken(token, userDetails);
+    }
+
+    /**
+     * What JwtRequestFilter does per request: extract the subject, then validate
+     */
+    @Benchmark
+    public boolean filterPath() {
+        jwtTokenUtil.extractUserId(token);
+        return jwtTokenUtil.validateToken(token, userDetails);
+    }
+}
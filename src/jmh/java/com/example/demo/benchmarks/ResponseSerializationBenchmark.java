@@ -0,0 +1,117 @@
+package com.example.demo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.DetailLevel;
+import com.example.demo.dto.VaccineDTO;
+import com.example.demo.entities.Animal;
+import com.example.demo.entities.Vaccine;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.AuthResponse;
+import com.example.demo.response.PageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson serialization of the response envelopes returned by the
+ * controllers, with and without the Blackbird module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({ "10", "100" })
+    private int pageSize;
+
+    @Param({ "false", "true" })
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<AnimalDTO>> basicAnimalPage;
+    private ApiResponse<PageResponse<AnimalDTO>> fullAnimalPage;
+    private ApiResponse<PageResponse<VaccineDTO>> vaccinePage;
+    private ApiResponse<Void> validationError;
+    private AuthResponse login;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        List<Animal> animals = BenchmarkFixtures.animals(pageSize, 2);
+        List<AnimalDTO> basic = new ArrayList<>(pageSize);
+        List<AnimalDTO> full = new ArrayList<>(pageSize);
+        for (Animal animal : animals) {
+            basic.add(AnimalDTO.fromEntity(animal, DetailLevel.BASIC));
+            full.add(AnimalDTO.fromEntity(animal, DetailLevel.FULL));
+        }
+
+        List<VaccineDTO> vaccines = new ArrayList<>(pageSize);
+        for (Vaccine vaccine : BenchmarkFixtures.vaccines(pageSize)) {
+            vaccines.add(VaccineDTO.fromEntity(vaccine));
+        }
+
+        PageImpl<?> page = new PageImpl<>(animals, PageRequest.of(0, pageSize), pageSize * 5L);
+        basicAnimalPage = ApiResponse.success(PageResponse.of("animals", page, basic),
+                "Animales recuperados correctamente");
+        fullAnimalPage = ApiResponse.success(PageResponse.of("animals", page, full),
+                "Animales recuperados correctamente");
+        vaccinePage = ApiResponse.success(PageResponse.of("vaccines", page, vaccines),
+                "Vaccine history successfully retrieved");
+        validationError = ApiResponse.error("Validation error",
+                Map.of("name", List.of("El nombre es requerido"), "gender", List.of("El género es requerido")));
+        login = AuthResponse.loggedIn("Ana", "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiI0MiJ9.signature", "Login exitoso");
+    }
+
+    @Benchmark
+    public byte[] basicAnimalPage() throws Exception {
+        return objectMapper.writeValueAsBytes(basicAnimalPage);
+    }
+
+    @Benchmark
+    public byte[] fullAnimalPage() throws Exception {
+        return objectMapper.writeValueAsBytes(fullAnimalPage);
+    }
+
+    @Benchmark
+    public byte[] vaccinePage() throws Exception {
+        return objectMapper.writeValueAsBytes(vaccinePage);
+    }
+
+    @Benchmark
+    public byte[] validationError() throws Exception {
+        return objectMapper.writeValueAsBytes(validationError);
+    }
+
+    @Benchmark
+    public byte[] login() throws Exception {
+        return objectMapper.writeValueAsBytes(login);
+    }
+}
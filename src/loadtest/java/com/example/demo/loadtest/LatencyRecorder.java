@@ -0,0 +1,101 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counts,
+ * safe to record from many threads.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String operation, long nanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+    }
+
+    void reset() {
+        histograms.clear();
+        errors.clear();
+    }
+
+    /**
+     * Print a summary table plus the full histogram of all operations combined
+     */
+    void print(PrintStream out, double seconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+        out.printf("%n%-22s %10s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9 (ms)");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            total.add(histogram);
+            out.printf("%-22s %10d %10.1f %8d", entry.getKey(), histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds, errorCount(entry.getKey()));
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            out.println();
+        }
+
+        out.printf("%nTotal: %d requests, %.1f req/s%n", total.getTotalCount(), total.getTotalCount() / seconds);
+        out.println("Latency distribution (ms):");
+        total.outputPercentileDistribution(out, 5, 1000.0);
+    }
+
+    /**
+     * Write throughput, error counts and percentiles per operation as JSON
+     */
+    void writeJson(Path file, double seconds) throws IOException {
+        Map<String, Object> report = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", histogram.getTotalCount());
+            summary.put("throughput", histogram.getTotalCount() / seconds);
+            summary.put("errors", errorCount(entry.getKey()));
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString() + "Millis",
+                        histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            summary.put("maxMillis", histogram.getMaxValue() / 1000.0);
+            report.put(entry.getKey(), summary);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(writer, report);
+        }
+    }
+
+    private long errorCount(String operation) {
+        LongAdder count = errors.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+}
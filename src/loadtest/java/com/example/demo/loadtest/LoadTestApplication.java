@@ -0,0 +1,73 @@
+package com.example.demo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.PetManagerApiApplication;
+import com.example.demo.loadtest.LoadTestSeeder.SeededUser;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.security.JwtTokenUtil;
+
+/**
+ * Starts the full application on a random port against an in-memory H2
+ * database (MySQL mode), seeds it, drives a request mix over HTTP and prints
+ * throughput and latency histograms. Run through the loadtest Maven profile;
+ * sizing comes from the loadtest.* system properties.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        int animals = Integer.getInteger("loadtest.animals", 20);
+        int vaccines = Integer.getInteger("loadtest.vaccines", 3);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60));
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-result.json"));
+
+        SpringApplication application = new SpringApplication(PetManagerApiApplication.class);
+        application.setAdditionalProfiles("loadtest");
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            LoadTestSeeder seeder = new LoadTestSeeder(
+                    context.getBean(UserRepository.class),
+                    context.getBean(AnimalRepository.class),
+                    context.getBean(PasswordEncoder.class),
+                    context.getBean(JwtTokenUtil.class),
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class)));
+
+            long seedStart = System.nanoTime();
+            List<SeededUser> seeded = seeder.seed(users, animals, vaccines);
+            System.out.printf("Seeded %d users x %d animals x %d vaccines in %d ms%n", users, animals, vaccines,
+                    (System.nanoTime() - seedStart) / 1_000_000);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            LoadTestDriver driver = new LoadTestDriver(baseUrl, seeded, recorder);
+
+            System.out.printf("Warming up for %d s with %d workers%n", warmup.toSeconds(), concurrency);
+            driver.run(concurrency, warmup);
+            recorder.reset();
+
+            System.out.printf("Measuring for %d s with %d workers%n", duration.toSeconds(), concurrency);
+            driver.run(concurrency, duration);
+
+            double seconds = duration.toMillis() / 1000.0;
+            recorder.print(System.out, seconds);
+            recorder.writeJson(report, seconds);
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.example.demo.loadtest.LoadTestSeeder.SeededUser;
+
+/**
+ * Closed-loop load generator: a fixed number of virtual-thread workers, each
+ * picking a random seeded user and a weighted operation per iteration, with
+ * no think time.
+ */
+class LoadTestDriver {
+
+    /**
+     * Request mix, weights in percent
+     */
+    private enum Operation {
+        LIST_ANIMALS(25),
+        LIST_ANIMALS_FULL(10),
+        GET_ANIMAL(15),
+        LIST_VACCINES(15),
+        LIST_PENDING_VACCINES(5),
+        LIST_HEALTH_ISSUES(15),
+        CREATE_VACCINE(10),
+        CREATE_HEALTH_ISSUE(5);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Operation[] MIX = buildMix();
+
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final LatencyRecorder recorder;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile boolean running;
+
+    LoadTestDriver(String baseUrl, List<SeededUser> users, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Run the mix with the given concurrency for the given time, recording into the recorder
+     */
+    void run(int concurrency, Duration duration) throws InterruptedException {
+        running = true;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(this::loop);
+            }
+            TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+            running = false;
+        }
+    }
+
+    private void loop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            SeededUser user = users.get(random.nextInt(users.size()));
+            Operation operation = MIX[random.nextInt(MIX.length)];
+            HttpRequest request = request(operation, user, random);
+
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (Exception e) {
+                success = false;
+            }
+            recorder.record(operation.name(), System.nanoTime() - start, success);
+        }
+    }
+
+    private HttpRequest request(Operation operation, SeededUser user, ThreadLocalRandom random) {
+        Long animalId = user.animalIds().get(random.nextInt(user.animalIds().size()));
+        int page = random.nextInt(2);
+
+        return switch (operation) {
+            case LIST_ANIMALS -> get(user, "/api/animals?paginated=true&size=10&page=" + page);
+            case LIST_ANIMALS_FULL -> get(user, "/api/animals?paginated=true&detailLevel=FULL&size=10&page=" + page);
+            case GET_ANIMAL -> get(user, "/api/animals/" + animalId);
+            case LIST_VACCINES -> get(user, "/api/animals/" + animalId + "/vaccines");
+            case LIST_PENDING_VACCINES -> get(user, "/api/vaccines/pending-animals");
+            case LIST_HEALTH_ISSUES -> get(user, "/api/animals/" + animalId + "/health-issues");
+            case CREATE_VACCINE -> post(user, "/api/animals/" + animalId + "/vaccines",
+                    "{\"name\":\"Booster\",\"expirationDate\":\"" + LocalDate.now().plusMonths(6)
+                            + "\",\"description\":\"Load test\"}");
+            case CREATE_HEALTH_ISSUE -> post(user, "/api/animals/" + animalId + "/health-issues",
+                    "{\"name\":\"Checkup\",\"diagnosisDate\":\"" + LocalDate.now()
+                            + "\",\"description\":\"Load test\"}");
+        };
+    }
+
+    private HttpRequest get(SeededUser user, String path) {
+        return authorized(user, path).GET().build();
+    }
+
+    private HttpRequest post(SeededUser user, String path, String json) {
+        return authorized(user, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(SeededUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + user.token());
+    }
+
+    private static Operation[] buildMix() {
+        Operation[] mix = new Operation[100];
+        int index = 0;
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < operation.weight; i++) {
+                mix[index++] = operation;
+            }
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.entities.*;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.security.JwtTokenUtil;
+
+/**
+ * Seeds a deterministic data set through the application's own repositories:
+ * N users, each with M animals carrying a mix of pending and applied vaccines
+ * and one health issue, and issues a JWT per user.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "Password1!";
+
+    private final UserRepository userRepository;
+    private final AnimalRepository animalRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final TransactionTemplate transactionTemplate;
+
+    LoadTestSeeder(UserRepository userRepository, AnimalRepository animalRepository, PasswordEncoder passwordEncoder,
+            JwtTokenUtil jwtTokenUtil, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.animalRepository = animalRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * A seeded user, its token and the ids of its animals
+     */
+    record SeededUser(Long id, String token, List<Long> animalIds) {
+    }
+
+    List<SeededUser> seed(int users, int animalsPerUser, int vaccinesPerAnimal) {
+        // BCrypt is deliberately slow; every user shares the same hash
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<SeededUser> seeded = new ArrayList<>(users);
+
+        for (int u = 0; u < users; u++) {
+            int userIndex = u;
+            SeededUser user = transactionTemplate.execute(status -> seedUser(userIndex, encodedPassword,
+                    animalsPerUser, vaccinesPerAnimal));
+            seeded.add(user);
+        }
+
+        return seeded;
+    }
+
+    private SeededUser seedUser(int index, String encodedPassword, int animalsPerUser, int vaccinesPerAnimal) {
+        User user = userRepository.save(new User("User" + index, "Load", "load" + index + "@example.com",
+                encodedPassword));
+
+        LocalDate today = LocalDate.now();
+        List<Animal> animals = new ArrayList<>(animalsPerUser);
+        for (int a = 0; a < animalsPerUser; a++) {
+            Animal animal = animal(a);
+            animal.setNotes("Seeded for load testing");
+            animal.setDiet("Dry food");
+            animal.setLastDeworming(today.minusMonths(a % 6));
+            animal.setUser(user);
+
+            for (int v = 0; v < vaccinesPerAnimal; v++) {
+                animal.addVaccine(v % 2 == 0
+                        ? new Vaccine("Rabies " + v, null, today.plusDays(30L + v), "Annual booster")
+                        : new Vaccine("Distemper " + v, today.minusDays(90L + v), null, "Puppy series"));
+            }
+            animal.addHealthIssue(new HealthIssue("Otitis", "Inflamed left ear", today.minusDays(20), null,
+                    "Ear drops twice a day", animal));
+
+            animals.add(animal);
+        }
+
+        List<Long> animalIds = new ArrayList<>(animalsPerUser);
+        for (Animal animal : animalRepository.saveAll(animals)) {
+            animalIds.add(animal.getId());
+        }
+
+        return new SeededUser(user.getId(), jwtTokenUtil.generateToken(user.getId()), animalIds);
+    }
+
+    private static Animal animal(int index) {
+        LocalDate birthDate = LocalDate.of(2015 + index % 8, 1 + index % 12, 1 + index % 28);
+        return switch (index % 3) {
+            case 0 -> new Dog("Dog " + index, birthDate, 24.5, "Brown", "Male", true,
+                    "Golden Retriever", "Large", "Double coat");
+            case 1 -> new Cat("Cat " + index, birthDate, 4.2, "Black", "Female", true,
+                    "Siamese", "Short", true);
+            default -> new Rodent("Rodent " + index, birthDate, 0.9, "White", "Female", false,
+                    "Guinea pig", true);
+        };
+    }
+}
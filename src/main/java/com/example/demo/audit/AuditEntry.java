@@ -0,0 +1,35 @@
+package com.example.demo.audit;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+
+/**
+ * A change captured during flush, waiting to be written
+ *
+ * @param resource   Kind of entity changed
+ * @param resourceId Entity id
+ * @param animalId   Animal the entity belongs to (the animal itself for animals)
+ * @param action     CREATED, UPDATED or DELETED
+ * @param actorId    Authenticated user that made the change, null for background jobs
+ * @param changes    Changed fields, in declaration order
+ * @param occurredAt When the change was flushed
+ */
+public record AuditEntry(
+        ResourceType resource,
+        Long resourceId,
+        Long animalId,
+        ChangeType action,
+        Long actorId,
+        Map<String, FieldChange> changes,
+        Instant occurredAt) {
+
+    /**
+     * Values of a field before and after the change; null on the missing side
+     * for creations and deletions
+     */
+    public record FieldChange(Object before, Object after) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.demo.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.entities.Animal;
+import com.example.demo.entities.HealthIssue;
+import com.example.demo.entities.Vaccine;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.util.SecurityUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+
+/**
+ * Captures inserts, updates and deletes of animals, vaccines and health issues
+ * as Hibernate flushes them, with the before/after value of each changed field
+ * taken from the entity state Hibernate already holds. Entries are buffered on
+ * the transaction and handed to {@link AuditWriter} only after commit, so a
+ * rolled back change is never audited and the transaction does no extra I/O.
+ */
+@Component
+public class AuditListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient EntityManagerFactory entityManagerFactory;
+    private final transient AuditWriter auditWriter;
+    private transient PersistenceUnitUtil persistenceUnitUtil;
+
+    public AuditListener(EntityManagerFactory entityManagerFactory, AuditWriter auditWriter) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditWriter = auditWriter;
+    }
+
+    @PostConstruct
+    public void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        ResourceType resource = resourceOf(event.getEntity());
+        if (resource != null) {
+            Map<String, AuditEntry.FieldChange> changes = diff(event.getPersister(), null, event.getState(), null);
+            capture(resource, event.getEntity(), event.getId(), ChangeType.CREATED, changes);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        ResourceType resource = resourceOf(event.getEntity());
+        if (resource != null) {
+            Map<String, AuditEntry.FieldChange> changes = diff(event.getPersister(), event.getOldState(),
+                    event.getState(), event.getDirtyProperties());
+            if (!changes.isEmpty()) {
+                capture(resource, event.getEntity(), event.getId(), ChangeType.UPDATED, changes);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        ResourceType resource = resourceOf(event.getEntity());
+        if (resource != null) {
+            Map<String, AuditEntry.FieldChange> changes = diff(event.getPersister(), event.getDeletedState(), null,
+                    null);
+            capture(resource, event.getEntity(), event.getId(), ChangeType.DELETED, changes);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(ResourceType resource, Object entity, Object id, ChangeType action,
+            Map<String, AuditEntry.FieldChange> changes) {
+        AuditEntry entry = new AuditEntry(resource, (Long) id, animalIdOf(entity), action, currentActor(), changes,
+                Instant.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditWriter.enqueue(List.of(entry));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<AuditEntry> pending = (List<AuditEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditWriter.enqueue(entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditListener.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * Changed fields in declaration order. Collections and the version are
+     * skipped, references to other entities are recorded by id.
+     */
+    private Map<String, AuditEntry.FieldChange> diff(EntityPersister persister, Object[] before, Object[] after,
+            int[] dirtyProperties) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, AuditEntry.FieldChange> changes = new LinkedHashMap<>();
+
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType() || i == persister.getVersionProperty()
+                    || (dirtyProperties != null && !contains(dirtyProperties, i))) {
+                continue;
+            }
+            Object oldValue = before != null ? valueOf(types[i], before[i]) : null;
+            Object newValue = after != null ? valueOf(types[i], after[i]) : null;
+            if (before != null && after != null && Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+            if (oldValue != null || newValue != null) {
+                changes.put(names[i], new AuditEntry.FieldChange(oldValue, newValue));
+            }
+        }
+        return changes;
+    }
+
+    private Object valueOf(Type type, Object value) {
+        if (value != null && type.isEntityType()) {
+            // Reads the id of a lazy proxy without initializing it
+            return persistenceUnitUtil.getIdentifier(value);
+        }
+        return value;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResourceType resourceOf(Object entity) {
+        if (entity instanceof Animal) {
+            return ResourceType.ANIMAL;
+        } else if (entity instanceof Vaccine) {
+            return ResourceType.VACCINE;
+        } else if (entity instanceof HealthIssue) {
+            return ResourceType.HEALTH_ISSUE;
+        }
+        return null;
+    }
+
+    private static Long animalIdOf(Object entity) {
+        if (entity instanceof Animal animal) {
+            return animal.getId();
+        } else if (entity instanceof Vaccine vaccine && vaccine.getAnimal() != null) {
+            return vaccine.getAnimal().getId();
+        } else if (entity instanceof HealthIssue issue && issue.getAnimal() != null) {
+            return issue.getAnimal().getId();
+        }
+        return null;
+    }
+
+    private static Long currentActor() {
+        try {
+            return SecurityUtils.getCurrentUserId();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.audit;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.AuditLogDTO;
+import com.example.demo.entities.AuditLogEntry;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.AuditLogRepository;
+import com.example.demo.response.PageResponse;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Transactional(readOnly = true)
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class AuditService {
+
+    private final AuditLogRepository auditLogRepository;
+    private final AnimalRepository animalRepository;
+
+    public AuditService(AuditLogRepository auditLogRepository, AnimalRepository animalRepository) {
+        this.auditLogRepository = auditLogRepository;
+        this.animalRepository = animalRepository;
+    }
+
+    /**
+     * Get the change history of an animal and its vaccines and health issues.
+     * Entries are written asynchronously, so the latest change may take a
+     * moment to appear.
+     *
+     * @param animalId Animal ID
+     * @param userId   User ID (for ownership validation)
+     * @param resource Optional resource type to restrict to
+     * @param pageable Pagination information
+     * @return Page of history entries
+     */
+    public PageResponse<AuditLogDTO> getAnimalHistory(Long animalId, Long userId, ResourceType resource,
+            Pageable pageable) {
+
+        if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
+            throw new ResourceNotFoundException("Animal", "id", animalId);
+        }
+
+        Page<AuditLogEntry> historyPage = resource != null
+                ? auditLogRepository.findByAnimalIdAndResourceType(animalId, resource, pageable)
+                : auditLogRepository.findByAnimalId(animalId, pageable);
+
+        List<AuditLogDTO> history = historyPage.getContent().stream()
+                .map(AuditLogDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return PageResponse.of("history", historyPage, history);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.audit;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes audit entries off the request path. Committed entries are appended to
+ * a bounded lock-free queue that a single background thread drains in JDBC
+ * batches, so a write request pays for an enqueue instead of an INSERT.
+ * <p>
+ * Backpressure: when the queue is full the committing thread waits up to
+ * audit.offer-timeout-ms for room and then writes its own entries
+ * synchronously. Audit entries are never dropped for lack of space; a writer
+ * that falls behind slows down writes instead.
+ */
+@Component
+public class AuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(resource_type, resource_id, animal_id, action, actor_id, changes, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final Queue<AuditEntry> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is O(n); the bound is kept in a separate counter
+    private final AtomicInteger queued = new AtomicInteger();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter callerWrites;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public AuditWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${audit.queue.capacity:10000}") int capacity,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${audit.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Caller writes run in afterCommit, where the finished transaction's
+        // connection is still bound; a new transaction keeps them from joining it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.written = meterRegistry.counter("audit.entries.written");
+        this.failed = meterRegistry.counter("audit.entries.failed");
+        this.callerWrites = meterRegistry.counter("audit.entries.caller.writes");
+        meterRegistry.gauge("audit.queue.size", queued);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().daemon().name("audit-writer").start(this::drainLoop);
+    }
+
+    /**
+     * Hand off the entries of a committed transaction
+     */
+    public void enqueue(Collection<AuditEntry> entries) {
+        // One wait per committed transaction, however many entries it produced
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        List<AuditEntry> rejected = null;
+        for (AuditEntry entry : entries) {
+            if (!offer(entry, deadline)) {
+                if (rejected == null) {
+                    rejected = new ArrayList<>();
+                }
+                rejected.add(entry);
+            }
+        }
+
+        if (rejected != null) {
+            callerWrites.increment(rejected.size());
+            write(rejected);
+        }
+        if (queued.get() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private boolean offer(AuditEntry entry, long deadline) {
+        while (true) {
+            int size = queued.get();
+            if (size < capacity) {
+                if (queued.compareAndSet(size, size + 1)) {
+                    queue.offer(entry);
+                    return true;
+                }
+                continue;
+            }
+            if (!running || System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running || queued.get() > 0) {
+            AuditEntry entry;
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(entry);
+            }
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEntry> entries) {
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            args.add(new Object[] {
+                    entry.resource().name(),
+                    entry.resourceId(),
+                    entry.animalId(),
+                    entry.action().name(),
+                    entry.actorId(),
+                    toJson(entry),
+                    Timestamp.from(entry.occurredAt()) });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+            written.increment(entries.size());
+        } catch (RuntimeException e) {
+            // Also covers an unreachable database (CannotCreateTransactionException): the
+            // worker must survive it, and a caller write runs after its own commit
+            failed.increment(entries.size());
+            log.error("audit.write.failed entries={}", entries.size(), e);
+        }
+    }
+
+    private String toJson(AuditEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry.changes());
+        } catch (JsonProcessingException e) {
+            log.warn("audit.serialize.failed resource={} id={}", entry.resource(), entry.resourceId(), e);
+            return "{}";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.cluster;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A change committed on another node, published locally by the
+ * {@link InvalidationChannel} so per-node caches can drop or reload what it
+ * affects. Changes made on this node arrive as {@link EntityChangedEvent}s
+ * instead and are never received here.
+ *
+ * @param resource Kind of resource that changed, null when any of the user's
+ *                 data may have changed (bulk import)
+ * @param change   What happened to it, null together with resource
+ * @param id       Resource id
+ * @param animalId Animal the resource belongs to (the animal itself for ANIMAL)
+ * @param userId   Owner
+ */
+public record CacheInvalidation(
+        ResourceType resource,
+        ChangeType change,
+        Long id,
+        Long animalId,
+        Long userId) {
+
+    public static CacheInvalidation of(EntityChangedEvent event) {
+        return new CacheInvalidation(event.resource(), event.change(), event.id(), event.animalId(),
+                event.userId());
+    }
+
+    public static CacheInvalidation of(AnimalsImportedEvent event) {
+        return new CacheInvalidation(null, null, null, null, event.userId());
+    }
+
+    /**
+     * True when the whole user's data must be considered stale
+     */
+    @JsonIgnore
+    public boolean isUserWide() {
+        return resource == null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.cluster;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Treats every application context in this JVM that uses this channel as a
+ * node, so tests can start several contexts and check that their caches stay
+ * coherent. Meant for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.channel", havingValue = "memory")
+public class InMemoryInvalidationChannel implements InvalidationChannel {
+
+    private static final Set<InMemoryInvalidationChannel> NODES = new CopyOnWriteArraySet<>();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryInvalidationChannel(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void join() {
+        NODES.add(this);
+    }
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        for (InMemoryInvalidationChannel node : NODES) {
+            if (node != this) {
+                node.eventPublisher.publishEvent(invalidation);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        NODES.remove(this);
+    }
+}
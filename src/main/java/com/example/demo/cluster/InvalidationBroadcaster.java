@@ -0,0 +1,46 @@
+package com.example.demo.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+
+/**
+ * Sends this node's committed changes to the other nodes
+ */
+@Component
+public class InvalidationBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBroadcaster.class);
+
+    private final InvalidationChannel channel;
+
+    public InvalidationBroadcaster(InvalidationChannel channel) {
+        this.channel = channel;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        broadcast(CacheInvalidation.of(event));
+    }
+
+    @EventListener
+    public void onAnimalsImported(AnimalsImportedEvent event) {
+        broadcast(CacheInvalidation.of(event));
+    }
+
+    private void broadcast(CacheInvalidation invalidation) {
+        // The change is committed; a failure here must not turn the request into an error
+        try {
+            channel.broadcast(invalidation);
+        } catch (RuntimeException e) {
+            log.warn("invalidation.broadcast.failed resource={} id={} userId={}", invalidation.resource(),
+                    invalidation.id(), invalidation.userId(), e);
+        }
+    }
+}
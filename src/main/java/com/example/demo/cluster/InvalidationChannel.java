@@ -0,0 +1,16 @@
+package com.example.demo.cluster;
+
+/**
+ * Carries committed changes between the nodes of a cluster. Implementations
+ * deliver each invalidation to every other node, where it is published as an
+ * application event; the sending node is never notified of its own
+ * invalidations. Selected with the invalidation.channel property: none
+ * (single node, the default), memory or udp.
+ * <p>
+ * Delivery is best effort: caches that cannot tolerate a lost invalidation
+ * must also expire their entries.
+ */
+public interface InvalidationChannel {
+
+    void broadcast(CacheInvalidation invalidation);
+}
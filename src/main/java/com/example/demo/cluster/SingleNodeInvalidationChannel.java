@@ -0,0 +1,16 @@
+package com.example.demo.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Channel of a node that runs alone: there is nobody to notify
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.channel", havingValue = "none", matchIfMissing = true)
+public class SingleNodeInvalidationChannel implements InvalidationChannel {
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+    }
+}
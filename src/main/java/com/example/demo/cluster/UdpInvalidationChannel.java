@@ -0,0 +1,161 @@
+package com.example.demo.cluster;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sends each invalidation as one JSON datagram to every peer listed in
+ * invalidation.udp.peers and publishes the ones it receives. UDP needs no
+ * broker and costs one packet per change and peer, at the price of no
+ * delivery guarantee. Several nodes can run on one machine by giving each its
+ * own invalidation.udp.port and listing the others as peers.
+ * <p>
+ * The socket listens on invalidation.udp.bind-address only, and datagrams
+ * whose source is not a listed peer are dropped, since every invalidation can
+ * make this node reload data from the database.
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.channel", havingValue = "udp")
+public class UdpInvalidationChannel implements InvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationChannel.class);
+
+    private static final int MAX_DATAGRAM_BYTES = 1024;
+
+    // Lets a node recognize its own datagrams when it is listed among the peers
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final Set<SocketAddress> allowedSenders;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter rejected;
+    private final Counter failed;
+    private Thread receiver;
+
+    public UdpInvalidationChannel(ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${invalidation.udp.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${invalidation.udp.port:7600}") int port,
+            @Value("${invalidation.udp.peers:}") String peers) throws SocketException {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.peers = parsePeers(peers);
+        // Peers send from their own invalidation port, so source address and port must match
+        this.allowedSenders = Set.copyOf(this.peers);
+        this.socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        this.sent = meterRegistry.counter("invalidation.messages.sent");
+        this.received = meterRegistry.counter("invalidation.messages.received");
+        this.rejected = meterRegistry.counter("invalidation.messages.rejected");
+        this.failed = meterRegistry.counter("invalidation.messages.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        receiver = Thread.ofPlatform().daemon().name("invalidation-receiver").start(this::receiveLoop);
+        log.info("invalidation.udp address={} peers={}", socket.getLocalSocketAddress(), peers);
+    }
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(new Datagram(nodeId, invalidation));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize invalidation", e);
+        }
+
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+                sent.increment();
+            } catch (IOException e) {
+                failed.increment();
+                log.warn("invalidation.send.failed peer={}", peer, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Unblocks the receiver, which then sees the closed socket and exits
+        socket.close();
+        receiver.join(1000);
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("invalidation.receive.failed", e);
+                }
+                continue;
+            }
+            if (!allowedSenders.contains(packet.getSocketAddress())) {
+                rejected.increment();
+                log.debug("invalidation.rejected from={}", packet.getSocketAddress());
+                continue;
+            }
+
+            try {
+                Datagram datagram = objectMapper.readValue(packet.getData(), packet.getOffset(), packet.getLength(),
+                        Datagram.class);
+                if (!nodeId.equals(datagram.node())) {
+                    received.increment();
+                    eventPublisher.publishEvent(datagram.invalidation());
+                }
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                log.warn("invalidation.handle.failed from={}", packet.getSocketAddress(), e);
+            }
+        }
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0 || colon == trimmed.length() - 1) {
+                throw new IllegalArgumentException("invalidation.udp.peers entries must be host:port, got " + trimmed);
+            }
+            addresses.add(new InetSocketAddress(trimmed.substring(0, colon),
+                    Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return addresses;
+    }
+
+    record Datagram(String node, CacheInvalidation invalidation) {
+    }
+}
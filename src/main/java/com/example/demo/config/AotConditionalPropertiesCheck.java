@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * An AOT build fixes the bean graph at build time, so the @ConditionalOnProperty settings
+ * below keep the values the build was processed with. AotConditionalPropertiesRecorder stores
+ * those values in the build; this check refuses to start when the runtime ones differ, instead
+ * of silently running, say, the reminder scheduler on a node started with reminders.enabled=false.
+ */
+public class AotConditionalPropertiesCheck implements EnvironmentPostProcessor {
+
+    static final String RESOURCE = "META-INF/petmanager/aot-conditional-properties.properties";
+
+    /**
+     * Every property read by @ConditionalOnProperty, with the value that applies when it is unset
+     */
+    static final Map<String, String> PROPERTIES = new TreeMap<>(Map.of(
+            "invalidation.channel", "none",
+            "jackson.blackbird.enabled", "true",
+            "outbox.publisher", "log",
+            "outbox.relay.enabled", "true",
+            "reminders.enabled", "true",
+            "reminders.sink", "log"));
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(RESOURCE);
+        if (!resource.exists()) {
+            return;
+        }
+        Properties recorded = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            recorded.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + RESOURCE, e);
+        }
+        List<String> mismatches = mismatches(recorded, environment);
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("This AOT build was processed with other conditional properties: "
+                    + String.join(", ", mismatches)
+                    + ". Start it with the build-time values or rebuild with -Paot -Daot.jvmArguments=\"-D...\"");
+        }
+    }
+
+    static Properties currentValues(Environment environment) {
+        Properties values = new Properties();
+        PROPERTIES.forEach((name, defaultValue) -> values.setProperty(name, environment.getProperty(name, defaultValue)));
+        return values;
+    }
+
+    static List<String> mismatches(Properties recorded, Environment environment) {
+        Properties current = currentValues(environment);
+        List<String> mismatches = new ArrayList<>();
+        for (String name : PROPERTIES.keySet()) {
+            String built = recorded.getProperty(name, PROPERTIES.get(name));
+            String running = current.getProperty(name);
+            if (!running.equalsIgnoreCase(built)) {
+                mismatches.add(name + "=" + running + " (built with " + built + ")");
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+
+/**
+ * Stores the conditional properties an AOT build is processed with, for AotConditionalPropertiesCheck
+ * to compare against on startup. Registered in META-INF/spring/aot.factories.
+ */
+public class AotConditionalPropertiesRecorder implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        StringWriter content = new StringWriter();
+        try {
+            AotConditionalPropertiesCheck.currentValues(beanFactory.getBean(Environment.class))
+                    .store(content, "Conditional properties seen by the AOT build");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .addResourceFile(AotConditionalPropertiesCheck.RESOURCE, content.toString());
+    }
+}
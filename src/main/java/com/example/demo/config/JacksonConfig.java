@@ -0,0 +1,24 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson customizations applied to the ObjectMapper auto-configured by Spring Boot
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Blackbird replaces reflective getter/setter calls with LambdaMetafactory-generated
+     * accessors. Spring Boot registers every Module bean on the shared ObjectMapper.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackson.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
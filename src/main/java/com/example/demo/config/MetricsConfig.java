@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.metrics.SqlTracingListener;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Micrometer instrumentation beyond what Actuator configures on its own.
+ * HTTP endpoint timers (http.server.requests) and Hibernate statistics come
+ * from auto-configuration; this adds service method timers and wraps the
+ * DataSource so every statement is traced per request.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on the service classes
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Static so it is registered before the DataSource is created. The proxy
+     * delegates {@code unwrap}, so Actuator still binds the hikaricp.* pool
+     * metrics to the underlying HikariDataSource.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceTracingPostProcessor(ObjectProvider<SqlTracingListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
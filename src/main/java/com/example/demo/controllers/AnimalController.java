@@ -1,32 +1,47 @@
 package com.example.demo.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.AnimalField;
+import com.example.demo.dto.AnimalImportResultDTO;
 import com.example.demo.dto.AnimalRequestDTO;
 import com.example.demo.dto.DetailLevel;
+import com.example.demo.enums.ImportFormat;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.PageResponse;
+import com.example.demo.services.AnimalImportService;
 import com.example.demo.services.AnimalService;
+import com.example.demo.util.ETagUtils;
+import com.example.demo.util.JsonMergePatch;
 import com.example.demo.util.SecurityUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import jakarta.validation.Valid;
 
@@ -35,18 +50,22 @@ import jakarta.validation.Valid;
 public class AnimalController {
 
     private final AnimalService animalService;
+    private final AnimalImportService animalImportService;
 
-    public AnimalController(AnimalService animalService) {
+    public AnimalController(AnimalService animalService, AnimalImportService animalImportService) {
         this.animalService = animalService;
+        this.animalImportService = animalImportService;
     }
 
     /**
      * Get all animals for the authenticated user with optional filtering,
-     * pagination and sorting
+     * pagination and sorting. When fields is given it replaces detailLevel and
+     * only those fields are queried and returned.
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllAnimals(
+    public ResponseEntity<ApiResponse<?>> getAllAnimals(
             @RequestParam(defaultValue = "BASIC") String detailLevel,
+            @RequestParam(required = false) String fields,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String animalType,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -66,64 +85,98 @@ public class AnimalController {
                 throw new IllegalArgumentException("Start date cannot be after end date");
             }
 
-            Map<String, Object> response = new HashMap<>();
+            ApiResponse<?> response;
 
             if (paginated || name != null || animalType != null || startDate != null || endDate != null) {
 
                 Sort.Direction sortDirection = Sort.Direction.fromString(direction);
                 Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
 
-                Map<String, Object> animalsData = animalService.getAllAnimalsByUserIdWithFilters(
-                        userId, name, animalType, startDate, endDate, level, pageable);
+                PageResponse<?> animalsData = fields != null
+                        ? animalService.getAnimalProjectionsWithFilters(
+                                userId, name, animalType, startDate, endDate, AnimalField.parse(fields), pageable)
+                        : animalService.getAllAnimalsByUserIdWithFilters(
+                                userId, name, animalType, startDate, endDate, level, pageable);
 
-                response.put("success", true);
-                response.put("data", animalsData);
-                response.put("message", "Animales recuperados correctamente");
+                response = ApiResponse.success(animalsData, "Animales recuperados correctamente");
             } else {
 
-                List<AnimalDTO> animals = animalService.getAllAnimalsByUserId(userId, level);
+                List<?> animals = fields != null
+                        ? animalService.getAnimalProjectionsByUserId(userId, AnimalField.parse(fields))
+                        : animalService.getAllAnimalsByUserId(userId, level);
 
-                response.put("success", true);
-                response.put("data", animals);
-                response.put("message", "Animales recuperados correctamente");
+                response = ApiResponse.success(animals, "Animales recuperados correctamente");
             }
 
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get several animals by ID in one call, e.g. ?ids=1,2,3.
+     * Animals are returned in the requested order; any ID not owned by the user yields 404.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<AnimalDTO>>> getAnimalsByIds(
+            @RequestParam String ids,
+            @RequestParam(defaultValue = "FULL") String detailLevel,
+            @RequestParam(defaultValue = "false") boolean includeVaccines) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        DetailLevel level = DetailLevel.valueOf(detailLevel.toUpperCase());
 
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        try {
+            List<AnimalDTO> animals = animalService.getAnimalsByIds(parseIds(ids), userId, level, includeVaccines);
+
+            return new ResponseEntity<>(ApiResponse.success(animals, "Animales recuperados correctamente"), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Get a specific animal by ID
+     * Get a specific animal by ID, optionally restricted to the given fields.
+     * includeVaccines embeds the vaccines in FULL detail. The BASIC view
+     * carries an ETag and answers If-None-Match with 304.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getAnimalById(
+    public ResponseEntity<ApiResponse<?>> getAnimalById(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "FULL") String detailLevel) {
+            @RequestParam(defaultValue = "FULL") String detailLevel,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeVaccines,
+            WebRequest webRequest) {
 
         Long userId = SecurityUtils.getCurrentUserId();
         DetailLevel level = DetailLevel.valueOf(detailLevel.toUpperCase());
 
         try {
-            AnimalDTO animal = animalService.getAnimalById(id, userId, level);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", animal);
-            response.put("message", "Animal recuperado correctamente");
+            if (fields != null) {
+                Object animal = animalService.getAnimalProjectionById(id, userId, AnimalField.parse(fields));
+                return new ResponseEntity<>(ApiResponse.success(animal, "Animal recuperado correctamente"),
+                        HttpStatus.OK);
+            }
 
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            AnimalDTO animal = animalService.getAnimalById(id, userId, level, includeVaccines);
+            // FULL and embedded vaccines include child rows that have their own
+            // versions, so only the BASIC view is identified by the animal's version
+            if (level == DetailLevel.BASIC && !includeVaccines) {
+                String eTag = ETagUtils.of(animal.getVersion());
+                if (webRequest.checkNotModified(eTag)) {
+                    return null;
+                }
+                return new ResponseEntity<>(ApiResponse.success(animal, "Animal recuperado correctamente"),
+                        ETagUtils.headers(animal.getVersion()), HttpStatus.OK);
+            }
+            return new ResponseEntity<>(ApiResponse.success(animal, "Animal recuperado correctamente"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -131,84 +184,109 @@ public class AnimalController {
      * Create a new animal
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createAnimal(@Valid @RequestBody AnimalRequestDTO request) {
+    public ResponseEntity<ApiResponse<AnimalDTO>> createAnimal(@Valid @RequestBody AnimalRequestDTO request) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
             AnimalDTO savedAnimal = animalService.createAnimal(request, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", savedAnimal);
-            response.put("message", "Animal creado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ApiResponse.success(savedAnimal, "Animal creado correctamente"),
+                    ETagUtils.headers(savedAnimal.getVersion()), HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    /**
+     * Bulk import animals from an NDJSON or CSV body.
+     * CSV files must start with a header row using the AnimalRequestDTO field names.
+     */
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<ApiResponse<AnimalImportResultDTO>> importAnimals(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            ImportFormat format = ImportFormat.fromContentType(contentType);
+            AnimalImportResultDTO result = animalImportService.importAnimals(body, format, userId);
+
+            String message = "Importación completada: " + result.getImportedRows() + " de "
+                    + result.getTotalRows() + " animales importados";
+
+            return new ResponseEntity<>(ApiResponse.success(result, message), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Update an existing animal
+     * Update an existing animal. With If-Match the update only applies if the
+     * animal is still at that version.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateAnimal(
+    public ResponseEntity<ApiResponse<AnimalDTO>> updateAnimal(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AnimalRequestDTO request) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
-            AnimalDTO updatedAnimal = animalService.updateAnimal(request, id, userId);
+            AnimalDTO updatedAnimal = animalService.updateAnimal(request, id, userId, ETagUtils.parseIfMatch(ifMatch));
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", updatedAnimal);
-            response.put("message", "Animal actualizado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedAnimal, "Animal actualizado correctamente"),
+                    ETagUtils.headers(updatedAnimal.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
     
+    /**
+     * Partially update an animal with a JSON Merge Patch document. Honours
+     * If-Match like the full update.
+     */
+    @PatchMapping(value = "/{id}", consumes = JsonMergePatch.MEDIA_TYPE)
+    public ResponseEntity<ApiResponse<AnimalDTO>> patchAnimal(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            AnimalDTO updatedAnimal = animalService.patchAnimal(patch, id, userId, ETagUtils.parseIfMatch(ifMatch));
+
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedAnimal, "Animal actualizado correctamente"),
+                    ETagUtils.headers(updatedAnimal.getVersion()), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Delete an animal
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteAnimal(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Void>> deleteAnimal(@PathVariable Long id) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
             animalService.deleteAnimal(id, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Animal eliminado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(ApiResponse.success("Animal eliminado correctamente"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
     
@@ -217,6 +295,7 @@ public class AnimalController {
      * Pending vaccines are those that have an expiration date in the future but haven't been applied yet
      * 
      * @param detailLevel Detail level for animal information (BASIC or FULL)
+     * @param fields Comma separated fields to return instead of a detail level
      * @param page Page number (0-based)
      * @param size Page size
      * @param sortBy Field to sort by (default: name)
@@ -224,8 +303,9 @@ public class AnimalController {
      * @return Paginated list of animals with pending vaccines
      */
     @GetMapping("/with-pending-vaccines")
-    public ResponseEntity<Map<String, Object>> getAnimalsWithPendingVaccines(
+    public ResponseEntity<ApiResponse<?>> getAnimalsWithPendingVaccines(
             @RequestParam(defaultValue = "BASIC") String detailLevel,
+            @RequestParam(required = false) String fields,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
@@ -240,20 +320,35 @@ public class AnimalController {
             Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
             
             // Get paginated animals with pending vaccines
-            Map<String, Object> animalsData = animalService.getAnimalsWithPendingVaccines(userId, level, pageable);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", animalsData);
-            response.put("message", "Animales con vacunas pendientes recuperados correctamente");
+            PageResponse<?> animalsData = fields != null
+                    ? animalService.getAnimalProjectionsWithPendingVaccines(userId, AnimalField.parse(fields), pageable)
+                    : animalService.getAnimalsWithPendingVaccines(userId, level, pageable);
             
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(animalsData, "Animales con vacunas pendientes recuperados correctamente"),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Id de animal no válido: " + id.trim());
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un id de animal");
         }
+        return parsed;
     }
 }
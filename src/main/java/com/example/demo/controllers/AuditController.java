@@ -0,0 +1,58 @@
+package com.example.demo.controllers;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.audit.AuditService;
+import com.example.demo.dto.AuditLogDTO;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.PageResponse;
+import com.example.demo.util.SecurityUtils;
+
+@RestController
+@RequestMapping("/api/animals/{animalId}/history")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    /**
+     * Get the change history of an animal, its vaccines and health issues, newest first
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<PageResponse<AuditLogDTO>>> getHistory(
+            @PathVariable Long animalId,
+            @RequestParam(required = false) String resource,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            ResourceType resourceType = resource != null ? ResourceType.valueOf(resource.toUpperCase()) : null;
+            Pageable pageable = PageRequest.of(page, size,
+                    Sort.by(Sort.Order.desc("occurredAt"), Sort.Order.desc("id")));
+
+            PageResponse<AuditLogDTO> history = auditService.getAnimalHistory(animalId, userId, resourceType, pageable);
+
+            return new ResponseEntity<>(ApiResponse.success(history, "Historial recuperado correctamente"), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
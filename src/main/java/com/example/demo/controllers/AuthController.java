@@ -1,8 +1,5 @@
 package com.example.demo.controllers;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +15,8 @@ import com.example.demo.dto.LoginRequestDTO;
 import com.example.demo.dto.RegisterRequestDTO;
 import com.example.demo.entities.User;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.AuthResponse;
 import com.example.demo.security.JwtTokenUtil;
 
 import jakarta.validation.Valid;
@@ -40,13 +39,10 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@Valid @RequestBody RegisterRequestDTO registerRequest) {
-        Map<String, Object> result = new HashMap<>();
+    public ResponseEntity<ApiResponse<Void>> register(@Valid @RequestBody RegisterRequestDTO registerRequest) {
 
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            result.put("success", false);
-            result.put("message", "El email ya está registrado");
-            return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error("El email ya está registrado"), HttpStatus.BAD_REQUEST);
         }
 
         User newUser = new User(
@@ -57,14 +53,11 @@ public class AuthController {
 
         userRepository.save(newUser);
 
-        result.put("success", true);
-        result.put("message", "Registro exitoso");
-        return new ResponseEntity<>(result, HttpStatus.CREATED);
+        return new ResponseEntity<>(ApiResponse.success("Registro exitoso"), HttpStatus.CREATED);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        Map<String, Object> result = new HashMap<>();
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
 
         try {
 
@@ -78,17 +71,10 @@ public class AuthController {
 
             String token = jwtTokenUtil.generateToken(user.getId());
 
-            result.put("name", user.getName());
-            result.put("token", token);
-            result.put("success", true);
-            result.put("message", "Login exitoso");
-
-            return new ResponseEntity<>(result, HttpStatus.OK);
+            return new ResponseEntity<>(AuthResponse.loggedIn(user.getName(), token, "Login exitoso"), HttpStatus.OK);
 
         } catch (BadCredentialsException e) {
-            result.put("success", false);
-            result.put("message", "Credenciales erróneas");
-            return new ResponseEntity<>(result, HttpStatus.UNAUTHORIZED);
+            return new ResponseEntity<>(ApiResponse.error("Credenciales erróneas"), HttpStatus.UNAUTHORIZED);
         }
     }
 }
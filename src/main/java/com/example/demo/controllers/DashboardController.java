@@ -0,0 +1,35 @@
+package com.example.demo.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dashboard.Dashboard;
+import com.example.demo.dashboard.DashboardService;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.util.SecurityUtils;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Get the home screen summary of the authenticated user
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Dashboard>> getDashboard() {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        Dashboard dashboard = dashboardService.getDashboard(userId);
+
+        return new ResponseEntity<>(ApiResponse.success(dashboard, "Panel recuperado correctamente"), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.events.UserEventBus;
+import com.example.demo.util.SecurityUtils;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+
+    private final UserEventBus userEventBus;
+
+    public EventStreamController(UserEventBus userEventBus) {
+        this.userEventBus = userEventBus;
+    }
+
+    /**
+     * Stream vaccine and health issue changes of the authenticated user as Server-Sent Events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return userEventBus.subscribe(SecurityUtils.getCurrentUserId());
+    }
+}
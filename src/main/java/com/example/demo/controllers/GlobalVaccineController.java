@@ -1,8 +1,5 @@
 package com.example.demo.controllers;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -13,7 +10,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.AnimalDTO;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.PageResponse;
 import com.example.demo.services.VaccineService;
 import com.example.demo.util.SecurityUtils;
 
@@ -37,7 +37,7 @@ public class GlobalVaccineController {
      * @return Paginated list of animals with pending vaccines
      */
     @GetMapping("/pending-animals")
-    public ResponseEntity<Map<String, Object>> getAnimalsWithPendingVaccines(
+    public ResponseEntity<ApiResponse<PageResponse<AnimalDTO>>> getAnimalsWithPendingVaccines(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
@@ -52,20 +52,13 @@ public class GlobalVaccineController {
             Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
             
             // Get paginated animals with pending vaccines
-            Map<String, Object> animalsData = vaccineService.getAnimalsWithPendingVaccines(userId, pageable);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", animalsData);
-            response.put("message", "Animals with pending vaccines successfully retrieved");
+            PageResponse<AnimalDTO> animalsData = vaccineService.getAnimalsWithPendingVaccines(userId, pageable);
             
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(animalsData, "Animals with pending vaccines successfully retrieved"),
+                    HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 }
@@ -1,31 +1,38 @@
 package com.example.demo.controllers;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.demo.dto.HealthIssueDTO;
 import com.example.demo.dto.HealthIssueRequestDTO;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.PageResponse;
 import com.example.demo.services.HealthIssueService;
+import com.example.demo.util.ETagUtils;
+import com.example.demo.util.JsonMergePatch;
 import com.example.demo.util.SecurityUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import jakarta.validation.Valid;
 
@@ -44,7 +51,7 @@ public class HealthIssueController {
      * sorting
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllHealthIssues(
+    public ResponseEntity<ApiResponse<?>> getAllHealthIssues(
             @PathVariable Long animalId,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -63,69 +70,55 @@ public class HealthIssueController {
                 throw new IllegalArgumentException("Start date cannot be after end date");
             }
 
-            Map<String, Object> response = new HashMap<>();
+            ApiResponse<?> response;
 
             if (paginated || name != null || startDate != null || endDate != null) {
 
                 Sort.Direction sortDirection = Sort.Direction.fromString(direction);
                 Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
 
-                Map<String, Object> healthIssuesData = healthIssueService.getAllHealthIssuesByAnimalIdWithFilters(
-                        animalId, userId, name, startDate, endDate, pageable);
+                PageResponse<HealthIssueDTO> healthIssuesData = healthIssueService
+                        .getAllHealthIssuesByAnimalIdWithFilters(animalId, userId, name, startDate, endDate, pageable);
 
-                response.put("success", true);
-                response.put("data", healthIssuesData);
-                response.put("message", "Problemas de salud recuperados correctamente");
+                response = ApiResponse.success(healthIssuesData, "Problemas de salud recuperados correctamente");
             } else {
 
                 List<HealthIssueDTO> healthIssues = healthIssueService.getAllHealthIssuesByAnimalId(animalId, userId);
 
-                response.put("success", true);
-                response.put("data", healthIssues);
-                response.put("message", "Problemas de salud recuperados correctamente");
+                response = ApiResponse.success(healthIssues, "Problemas de salud recuperados correctamente");
             }
 
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Get a specific health issue by ID
+     * Get a specific health issue by ID, or 304 if If-None-Match names its
+     * current version
      */
     @GetMapping("/{healthIssueId}")
-    public ResponseEntity<Map<String, Object>> getHealthIssueById(
+    public ResponseEntity<ApiResponse<HealthIssueDTO>> getHealthIssueById(
             @PathVariable Long animalId,
-            @PathVariable Long healthIssueId) {
+            @PathVariable Long healthIssueId,
+            WebRequest webRequest) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
             HealthIssueDTO healthIssue = healthIssueService.getHealthIssueById(healthIssueId, animalId, userId);
+            if (webRequest.checkNotModified(ETagUtils.of(healthIssue.getVersion()))) {
+                return null;
+            }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", healthIssue);
-            response.put("message", "Problema de salud recuperado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(healthIssue, "Problema de salud recuperado correctamente"),
+                    ETagUtils.headers(healthIssue.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 
@@ -133,7 +126,7 @@ public class HealthIssueController {
      * Create a new health issue
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createHealthIssue(
+    public ResponseEntity<ApiResponse<HealthIssueDTO>> createHealthIssue(
             @PathVariable Long animalId,
             @Valid @RequestBody HealthIssueRequestDTO request) {
 
@@ -142,48 +135,64 @@ public class HealthIssueController {
         try {
             HealthIssueDTO savedHealthIssue = healthIssueService.createHealthIssue(request, animalId, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", savedHealthIssue);
-            response.put("message", "Problema de salud creado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ApiResponse.success(savedHealthIssue, "Problema de salud creado correctamente"),
+                    ETagUtils.headers(savedHealthIssue.getVersion()), HttpStatus.CREATED);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 
     /**
-     * Update an existing health issue
+     * Update an existing health issue, only if it is still at the version
+     * named by If-Match when the header is sent
      */
     @PutMapping("/{healthIssueId}")
-    public ResponseEntity<Map<String, Object>> updateHealthIssue(
+    public ResponseEntity<ApiResponse<HealthIssueDTO>> updateHealthIssue(
             @PathVariable Long animalId,
             @PathVariable Long healthIssueId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody HealthIssueRequestDTO request) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
             HealthIssueDTO updatedHealthIssue = healthIssueService.updateHealthIssue(
-                    request, healthIssueId, animalId, userId);
+                    request, healthIssueId, animalId, userId, ETagUtils.parseIfMatch(ifMatch));
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", updatedHealthIssue);
-            response.put("message", "Problema de salud actualizado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedHealthIssue, "Problema de salud actualizado correctamente"),
+                    ETagUtils.headers(updatedHealthIssue.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    /**
+     * Partially update a health issue with a JSON Merge Patch document
+     */
+    @PatchMapping(value = "/{healthIssueId}", consumes = JsonMergePatch.MEDIA_TYPE)
+    public ResponseEntity<ApiResponse<HealthIssueDTO>> patchHealthIssue(
+            @PathVariable Long animalId,
+            @PathVariable Long healthIssueId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            HealthIssueDTO updatedHealthIssue = healthIssueService.patchHealthIssue(
+                    patch, healthIssueId, animalId, userId, ETagUtils.parseIfMatch(ifMatch));
+
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedHealthIssue, "Problema de salud actualizado correctamente"),
+                    ETagUtils.headers(updatedHealthIssue.getVersion()), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -191,7 +200,7 @@ public class HealthIssueController {
      * Delete a health issue
      */
     @DeleteMapping("/{healthIssueId}")
-    public ResponseEntity<Map<String, Object>> deleteHealthIssue(
+    public ResponseEntity<ApiResponse<Void>> deleteHealthIssue(
             @PathVariable Long animalId,
             @PathVariable Long healthIssueId) {
 
@@ -200,17 +209,10 @@ public class HealthIssueController {
         try {
             healthIssueService.deleteHealthIssue(healthIssueId, animalId, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Problema de salud eliminado correctamente");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success("Problema de salud eliminado correctamente"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 }
@@ -0,0 +1,92 @@
+package com.example.demo.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.enums.MeasurementGranularity;
+import com.example.demo.enums.MeasurementType;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.measurements.MeasurementBucket;
+import com.example.demo.measurements.MeasurementIngestResult;
+import com.example.demo.measurements.MeasurementReading;
+import com.example.demo.measurements.MeasurementService;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.util.SecurityUtils;
+
+@RestController
+@RequestMapping("/api")
+public class MeasurementController {
+
+    private final MeasurementService measurementService;
+
+    public MeasurementController(MeasurementService measurementService) {
+        this.measurementService = measurementService;
+    }
+
+    /**
+     * Store a batch of readings, possibly for several animals. Readings already
+     * stored are skipped, so a failed batch can be sent again.
+     */
+    @PostMapping("/measurements")
+    public ResponseEntity<ApiResponse<MeasurementIngestResult>> ingest(
+            @RequestBody List<MeasurementReading> readings) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            MeasurementIngestResult result = measurementService.ingest(readings, userId);
+
+            String message = "Mediciones registradas: " + result.stored() + " nuevas, "
+                    + result.duplicates() + " repetidas";
+            return new ResponseEntity<>(ApiResponse.success(result, message), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (DuplicateKeyException e) {
+            // Still conflicting after the service retried; resending is safe
+            return new ResponseEntity<>(
+                    ApiResponse.error("Otra petición registró las mismas mediciones, vuelva a enviar el lote"),
+                    HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Get one measurement series of an animal aggregated by day, week or month
+     */
+    @GetMapping("/animals/{animalId}/measurements")
+    public ResponseEntity<ApiResponse<List<MeasurementBucket>>> getBuckets(
+            @PathVariable Long animalId,
+            @RequestParam(defaultValue = "WEIGHT") String type,
+            @RequestParam(defaultValue = "WEEK") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            List<MeasurementBucket> buckets = measurementService.getBuckets(animalId, userId,
+                    MeasurementType.valueOf(type.toUpperCase()),
+                    MeasurementGranularity.valueOf(granularity.toUpperCase()), from, to);
+
+            return new ResponseEntity<>(ApiResponse.success(buckets, "Mediciones recuperadas correctamente"),
+                    HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
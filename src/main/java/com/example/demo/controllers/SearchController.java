@@ -0,0 +1,46 @@
+package com.example.demo.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.response.ApiResponse;
+import com.example.demo.search.SearchHit;
+import com.example.demo.search.SearchService;
+import com.example.demo.util.SecurityUtils;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Full-text search over the authenticated user's animals, vaccines and health issues
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHit>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String types,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            List<SearchHit> hits = searchService.search(userId, q, types, limit);
+
+            return new ResponseEntity<>(ApiResponse.success(hits, "Resultados recuperados correctamente"), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
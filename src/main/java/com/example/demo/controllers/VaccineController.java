@@ -1,13 +1,12 @@
 package com.example.demo.controllers;
 
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,12 +19,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.demo.dto.VaccineDTO;
 import com.example.demo.dto.VaccineRequestDTO;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.response.ApiResponse;
+import com.example.demo.response.PageResponse;
 import com.example.demo.services.VaccineService;
+import com.example.demo.util.ETagUtils;
+import com.example.demo.util.JsonMergePatch;
 import com.example.demo.util.SecurityUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import jakarta.validation.Valid;
 
@@ -53,7 +59,7 @@ public class VaccineController {
      * @return Paginated list of vaccines
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllVaccines(
+    public ResponseEntity<ApiResponse<PageResponse<VaccineDTO>>> getAllVaccines(
             @PathVariable Long animalId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -89,59 +95,44 @@ public class VaccineController {
             Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
             
             // Get paginated vaccines with date type filtering
-            Map<String, Object> vaccinesData = 
+            PageResponse<VaccineDTO> vaccinesData =
                 vaccineService.getVaccinesByAnimalId(animalId, userId, startDate, endDate, dateType, pageable);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", vaccinesData);
-            response.put("message", "Vaccine history successfully retrieved");
-            
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(vaccinesData, "Vaccine history successfully retrieved"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Get a specific vaccine by ID
+     * Get a specific vaccine by ID. Answers If-None-Match with 304 when the
+     * vaccine is still at that version.
      * 
      * @param animalId Animal ID
      * @param vaccineId Vaccine ID
      * @return Vaccine data
      */
     @GetMapping("/{vaccineId}")
-    public ResponseEntity<Map<String, Object>> getVaccineById(
+    public ResponseEntity<ApiResponse<VaccineDTO>> getVaccineById(
             @PathVariable Long animalId,
-            @PathVariable Long vaccineId) {
+            @PathVariable Long vaccineId,
+            WebRequest webRequest) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
             VaccineDTO vaccine = vaccineService.getVaccineById(vaccineId, animalId, userId);
+            if (webRequest.checkNotModified(ETagUtils.of(vaccine.getVersion()))) {
+                return null;
+            }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", vaccine);
-            response.put("message", "Vaccine successfully retrieved");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(ApiResponse.success(vaccine, "Vaccine successfully retrieved"),
+                    ETagUtils.headers(vaccine.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 
@@ -153,7 +144,7 @@ public class VaccineController {
      * @return Created vaccine
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createVaccine(
+    public ResponseEntity<ApiResponse<VaccineDTO>> createVaccine(
             @PathVariable Long animalId,
             @Valid @RequestBody VaccineRequestDTO request) {
 
@@ -162,24 +153,13 @@ public class VaccineController {
         try {
             VaccineDTO savedVaccine = vaccineService.createVaccine(request, animalId, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", savedVaccine);
-            response.put("message", "Vaccine successfully created");
-
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ApiResponse.success(savedVaccine, "Vaccine successfully created"),
+                    ETagUtils.headers(savedVaccine.getVersion()), HttpStatus.CREATED);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -188,38 +168,62 @@ public class VaccineController {
      * 
      * @param animalId Animal ID
      * @param vaccineId Vaccine ID
+     * @param ifMatch Optional ETag the vaccine must still have
      * @param request Updated vaccine data
      * @return Updated vaccine
      */
     @PutMapping("/{vaccineId}")
-    public ResponseEntity<Map<String, Object>> updateVaccine(
+    public ResponseEntity<ApiResponse<VaccineDTO>> updateVaccine(
             @PathVariable Long animalId,
             @PathVariable Long vaccineId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody VaccineRequestDTO request) {
 
         Long userId = SecurityUtils.getCurrentUserId();
 
         try {
-            VaccineDTO updatedVaccine = vaccineService.updateVaccine(request, vaccineId, animalId, userId);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", updatedVaccine);
-            response.put("message", "Vaccine successfully updated");
+            VaccineDTO updatedVaccine = vaccineService.updateVaccine(request, vaccineId, animalId, userId,
+                    ETagUtils.parseIfMatch(ifMatch));
 
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedVaccine, "Vaccine successfully updated"),
+                    ETagUtils.headers(updatedVaccine.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    /**
+     * Partially update a vaccine with a JSON Merge Patch document
+     * 
+     * @param animalId Animal ID
+     * @param vaccineId Vaccine ID
+     * @param ifMatch Optional ETag the vaccine must still have
+     * @param patch Fields to change; null removes a value
+     * @return Updated vaccine
+     */
+    @PatchMapping(value = "/{vaccineId}", consumes = JsonMergePatch.MEDIA_TYPE)
+    public ResponseEntity<ApiResponse<VaccineDTO>> patchVaccine(
+            @PathVariable Long animalId,
+            @PathVariable Long vaccineId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        try {
+            VaccineDTO updatedVaccine = vaccineService.patchVaccine(patch, vaccineId, animalId, userId,
+                    ETagUtils.parseIfMatch(ifMatch));
+
+            return new ResponseEntity<>(
+                    ApiResponse.success(updatedVaccine, "Vaccine successfully updated"),
+                    ETagUtils.headers(updatedVaccine.getVersion()), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -233,7 +237,7 @@ public class VaccineController {
      * @return Applied vaccine information
      */
     @PatchMapping("/{vaccineId}/apply")
-    public ResponseEntity<Map<String, Object>> confirmVaccineApplication(
+    public ResponseEntity<ApiResponse<VaccineDTO>> confirmVaccineApplication(
             @PathVariable Long animalId,
             @PathVariable Long vaccineId) {
 
@@ -242,24 +246,13 @@ public class VaccineController {
         try {
             VaccineDTO appliedVaccine = vaccineService.confirmVaccineApplication(vaccineId, animalId, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", appliedVaccine);
-            response.put("message", "Vaccine successfully applied");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(appliedVaccine, "Vaccine successfully applied"),
+                    ETagUtils.headers(appliedVaccine.getVersion()), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalStateException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -271,7 +264,7 @@ public class VaccineController {
      * @return Success message
      */
     @DeleteMapping("/{vaccineId}")
-    public ResponseEntity<Map<String, Object>> deleteVaccine(
+    public ResponseEntity<ApiResponse<Void>> deleteVaccine(
             @PathVariable Long animalId,
             @PathVariable Long vaccineId) {
 
@@ -280,17 +273,9 @@ public class VaccineController {
         try {
             vaccineService.deleteVaccine(vaccineId, animalId, userId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Vaccine successfully deleted");
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(ApiResponse.success("Vaccine successfully deleted"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
     
@@ -305,7 +290,7 @@ public class VaccineController {
      * @return Paginated list of non-expired vaccines
      */
     @GetMapping("/non-expired")
-    public ResponseEntity<Map<String, Object>> getNonExpiredVaccines(
+    public ResponseEntity<ApiResponse<PageResponse<VaccineDTO>>> getNonExpiredVaccines(
             @PathVariable Long animalId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -321,20 +306,12 @@ public class VaccineController {
             Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
             
             // Get paginated non-expired vaccines
-            Map<String, Object> vaccinesData = vaccineService.getNonExpiredVaccines(animalId, userId, pageable);
+            PageResponse<VaccineDTO> vaccinesData = vaccineService.getNonExpiredVaccines(animalId, userId, pageable);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", vaccinesData);
-            response.put("message", "Non-expired vaccines successfully retrieved");
-            
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(vaccinesData, "Non-expired vaccines successfully retrieved"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
     
@@ -349,7 +326,7 @@ public class VaccineController {
      * @return Paginated list of confirmed vaccines
      */
     @GetMapping("/confirmed")
-    public ResponseEntity<Map<String, Object>> getConfirmedVaccines(
+    public ResponseEntity<ApiResponse<PageResponse<VaccineDTO>>> getConfirmedVaccines(
             @PathVariable Long animalId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -365,20 +342,12 @@ public class VaccineController {
             Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
             
             // Get paginated confirmed vaccines
-            Map<String, Object> vaccinesData = vaccineService.getConfirmedVaccines(animalId, userId, pageable);
+            PageResponse<VaccineDTO> vaccinesData = vaccineService.getConfirmedVaccines(animalId, userId, pageable);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", vaccinesData);
-            response.put("message", "Confirmed vaccines successfully retrieved");
-            
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ApiResponse.success(vaccinesData, "Confirmed vaccines successfully retrieved"), HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 }
@@ -0,0 +1,6 @@
+package com.example.demo.dashboard;
+
+import com.example.demo.enums.AnimalType;
+
+public record AnimalTypeCount(AnimalType animalType, Long total) {
+}
@@ -0,0 +1,32 @@
+package com.example.demo.dashboard;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.example.demo.enums.AnimalType;
+
+/**
+ * Everything the home screen shows, built from aggregate queries
+ *
+ * @param totalAnimals             Number of animals of the user
+ * @param animalsByType            Animal count per type, types without animals omitted
+ * @param overdueVaccines          Pending vaccines whose expiration date has passed
+ * @param expiringVaccines         Pending vaccines expiring between today and expiringUntil
+ * @param expiringUntil            Last day of the expiration window
+ * @param upcomingVaccines         The first pending vaccines to expire in the window
+ * @param openHealthIssues         Health issues without recovery date
+ * @param openHealthIssuesByAnimal Open health issues per animal, most affected first
+ * @param recentAnimals            Last registered animals
+ */
+public record Dashboard(
+        long totalAnimals,
+        Map<AnimalType, Long> animalsByType,
+        long overdueVaccines,
+        long expiringVaccines,
+        LocalDate expiringUntil,
+        List<UpcomingVaccine> upcomingVaccines,
+        long openHealthIssues,
+        List<OpenHealthIssues> openHealthIssuesByAnimal,
+        List<RecentAnimal> recentAnimals) {
+}
@@ -0,0 +1,152 @@
+package com.example.demo.dashboard;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.cluster.CacheInvalidation;
+import com.example.demo.enums.AnimalType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.HealthIssueRepository;
+import com.example.demo.repositories.VaccineRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the per-user dashboard from five independent aggregate queries run in
+ * parallel. Each query runs in its own read-only repository transaction on a
+ * virtual thread, so a cold dashboard briefly takes up to five pool connections
+ * instead of holding one for the sum of all query times.
+ * <p>
+ * Results are cached per user for a short time and evicted as soon as one of
+ * the user's animals, vaccines or health issues changes, on this node or on
+ * another one. Concurrent requests of the same user share a single load.
+ */
+@Service
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class DashboardService {
+
+    private final AnimalRepository animalRepository;
+    private final VaccineRepository vaccineRepository;
+    private final HealthIssueRepository healthIssueRepository;
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<Long, Dashboard> cache;
+    private final int expiringWithinDays;
+    private final int listSize;
+
+    public DashboardService(AnimalRepository animalRepository, VaccineRepository vaccineRepository,
+            HealthIssueRepository healthIssueRepository, MeterRegistry meterRegistry,
+            @Value("${dashboard.cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${dashboard.cache.max-users:10000}") long maxUsers,
+            @Value("${dashboard.expiring-within-days:30}") int expiringWithinDays,
+            @Value("${dashboard.list-size:5}") int listSize) {
+        this.animalRepository = animalRepository;
+        this.vaccineRepository = vaccineRepository;
+        this.healthIssueRepository = healthIssueRepository;
+        this.expiringWithinDays = expiringWithinDays;
+        this.listSize = listSize;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    /**
+     * Get the dashboard of a user
+     */
+    public Dashboard getDashboard(Long userId) {
+        return cache.get(userId, this::loadDashboard);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onAnimalsImported(AnimalsImportedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onRemoteChange(CacheInvalidation invalidation) {
+        cache.invalidate(invalidation.userId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdown();
+    }
+
+    private Dashboard loadDashboard(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(expiringWithinDays);
+
+        CompletableFuture<List<AnimalTypeCount>> byType = query(
+                () -> animalRepository.countByAnimalType(userId));
+        CompletableFuture<List<RecentAnimal>> recent = query(
+                () -> animalRepository.findRecentByUserId(userId, Limit.of(listSize)));
+        CompletableFuture<VaccineExpirationSummary> expirations = query(
+                () -> vaccineRepository.summarizePendingByUserId(userId, today, until));
+        CompletableFuture<List<UpcomingVaccine>> upcoming = query(
+                () -> vaccineRepository.findUpcomingByUserId(userId, today, until, Limit.of(listSize)));
+        CompletableFuture<List<OpenHealthIssues>> openIssues = query(
+                () -> healthIssueRepository.countOpenByUserIdGroupByAnimal(userId));
+
+        try {
+            CompletableFuture.allOf(byType, recent, expirations, upcoming, openIssues).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        Map<AnimalType, Long> animalsByType = new EnumMap<>(AnimalType.class);
+        long totalAnimals = 0;
+        for (AnimalTypeCount count : byType.join()) {
+            animalsByType.put(count.animalType(), count.total());
+            totalAnimals += count.total();
+        }
+
+        long totalOpenIssues = openIssues.join().stream().mapToLong(OpenHealthIssues::openIssues).sum();
+
+        return new Dashboard(
+                totalAnimals,
+                animalsByType,
+                expirations.join().overdueOrZero(),
+                expirations.join().expiringSoonOrZero(),
+                until,
+                upcoming.join(),
+                totalOpenIssues,
+                openIssues.join(),
+                recent.join());
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dashboard;
+
+import java.time.LocalDate;
+
+/**
+ * Health issues without a recovery date for one animal
+ */
+public record OpenHealthIssues(
+        Long animalId,
+        String animalName,
+        Long openIssues,
+        LocalDate oldestDiagnosisDate) {
+}
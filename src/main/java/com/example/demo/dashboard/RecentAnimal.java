@@ -0,0 +1,12 @@
+package com.example.demo.dashboard;
+
+import java.time.LocalDate;
+
+import com.example.demo.enums.AnimalType;
+
+public record RecentAnimal(
+        Long id,
+        String name,
+        AnimalType animalType,
+        LocalDate registrationDate) {
+}
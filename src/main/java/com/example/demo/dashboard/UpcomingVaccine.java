@@ -0,0 +1,11 @@
+package com.example.demo.dashboard;
+
+import java.time.LocalDate;
+
+public record UpcomingVaccine(
+        Long vaccineId,
+        String vaccineName,
+        LocalDate expirationDate,
+        Long animalId,
+        String animalName) {
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dashboard;
+
+/**
+ * Pending vaccines of a user split by expiration, from a single aggregate query.
+ * SUM returns null when the user has no pending vaccines.
+ */
+public record VaccineExpirationSummary(Long overdue, Long expiringSoon) {
+
+    public long overdueOrZero() {
+        return overdue != null ? overdue : 0;
+    }
+
+    public long expiringSoonOrZero() {
+        return expiringSoon != null ? expiringSoon : 0;
+    }
+}
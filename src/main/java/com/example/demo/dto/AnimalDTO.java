@@ -1,12 +1,14 @@
 package com.example.demo.dto;
 
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
-import com.example.demo.entities.*;
+import org.hibernate.Hibernate;
+
+import com.example.demo.entities.Animal;
+import com.example.demo.entities.HealthIssue;
 import com.example.demo.enums.AnimalType;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -17,6 +19,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 public class AnimalDTO {
     // Basic common fields
     private Long id;
+    // Optimistic locking version, also sent as the ETag of the animal
+    private Long version;
     private String name;
     private LocalDate birthDate;
     private LocalDate registrationDate;
@@ -30,11 +34,13 @@ public class AnimalDTO {
     private LocalDate lastDeworming;
     private UserDTO owner;
     private List<HealthIssueDTO> healthIssues;
+    // Only filled on request, see AnimalService#getAnimalById
+    private List<VaccineDTO> vaccines;
 
-    private Map<String, Object> specificFields;
+    private AnimalSpecificFields specificFields;
 
     public AnimalDTO() {
-        this.specificFields = new HashMap<>();
+        this.specificFields = AnimalSpecificFields.None.INSTANCE;
     }
 
     /**
@@ -53,29 +59,14 @@ public class AnimalDTO {
 
         // Basic fields always included
         dto.id = animal.getId();
+        dto.version = animal.getVersion();
         dto.name = animal.getName();
         dto.birthDate = animal.getBirthDate();
         dto.registrationDate = animal.getRegistrationDate();
         dto.weightKg = animal.getWeightKg();
         dto.color = animal.getColor();
         dto.gender = animal.getGender();
-
-        // Determine the type of animal based on the class instance
-        if (animal instanceof Dog) {
-            dto.animalType = AnimalType.DOG;
-        } else if (animal instanceof Cat) {
-            dto.animalType = AnimalType.CAT;
-        } else if (animal instanceof Bird) {
-            dto.animalType = AnimalType.BIRD;
-        } else if (animal instanceof Reptile) {
-            dto.animalType = AnimalType.REPTILE;
-        } else if (animal instanceof Fish) {
-            dto.animalType = AnimalType.FISH;
-        } else if (animal instanceof Rodent) {
-            dto.animalType = AnimalType.RODENT;
-        } else {
-            dto.animalType = AnimalType.OTHER;
-        }
+        dto.animalType = animal.getAnimalType();
 
         // Additional fields for FULL level
         if (detailLevel == DetailLevel.FULL) {
@@ -88,70 +79,54 @@ public class AnimalDTO {
             }
 
             // Include health issues
-            if (animal.getHealthIssues() != null && !animal.getHealthIssues().isEmpty()) {
-                dto.healthIssues = animal.getHealthIssues().stream()
-                        .map(HealthIssueDTO::fromEntity)
-                        .collect(Collectors.toList());
-            }
-
-            // Specific fields based on animal type
-            switch (dto.animalType) {
-                case DOG -> {
-                    Dog dog = (Dog) animal;
-                    dto.specificFields.put("breed", dog.getBreed());
-                    dto.specificFields.put("size", dog.getSize());
-                    dto.specificFields.put("coatType", dog.getCoatType());
-                    dto.specificFields.put("pedigree", dog.isPedigree());
-                }
-
-                case CAT -> {
-                    Cat cat = (Cat) animal;
-                    dto.specificFields.put("breed", cat.getBreed());
-                    dto.specificFields.put("coatType", cat.getCoatType());
-                    dto.specificFields.put("indoorOnly", cat.isIndoorOnly());
-                }
-
-                case BIRD -> {
-                    Bird bird = (Bird) animal;
-                    dto.specificFields.put("species", bird.getSpecies());
-                    dto.specificFields.put("clippedWings", bird.isClippedWings());
-                    dto.specificFields.put("talkingAbility", bird.isTalkingAbility());
-                }
-
-                case REPTILE -> {
-                    Reptile reptile = (Reptile) animal;
-                    dto.specificFields.put("species", reptile.getSpecies());
-                    dto.specificFields.put("habitatType", reptile.getHabitatType());
-                    dto.specificFields.put("temperatureRequirements", reptile.getTemperatureRequirements());
-                    dto.specificFields.put("venomous", reptile.isVenomous());
-                }
-
-                case FISH -> {
-                    Fish fish = (Fish) animal;
-                    dto.specificFields.put("species", fish.getSpecies());
-                    dto.specificFields.put("waterType", fish.getWaterType());
-                    dto.specificFields.put("waterTemperature", fish.getWaterTemperature());
-                    dto.specificFields.put("phLevel", fish.getPhLevel());
-                    dto.specificFields.put("socialBehavior", fish.getSocialBehavior());
-                }
-
-                case RODENT -> {
-                    Rodent rodent = (Rodent) animal;
-                    dto.specificFields.put("species", rodent.getSpecies());
-                    dto.specificFields.put("cageTrained", rodent.isCageTrained());
-                    dto.specificFields.put("lifespanYears", rodent.getLifespanYears());
-                    dto.specificFields.put("teethCondition", rodent.getTeethCondition());
-                }
-
-                default -> {
-
+            Set<HealthIssue> issues = animal.getHealthIssues();
+            if (issues != null && !issues.isEmpty()) {
+                List<HealthIssueDTO> healthIssues = new ArrayList<>(issues.size());
+                for (HealthIssue issue : issues) {
+                    healthIssues.add(HealthIssueDTO.fromEntity(issue));
                 }
+                dto.healthIssues = healthIssues;
             }
+
+            // Specific fields based on animal type; a lazy proxy cannot be cast to its subclass
+            dto.specificFields = AnimalTypeMappers.specificFields(dto.animalType,
+                    Hibernate.unproxy(animal, Animal.class));
         }
 
         return dto;
     }
 
+    /**
+     * Creates a FULL detail DTO for an animal written by the bulk import,
+     * which has no entity to map from
+     *
+     * @param id               Generated animal id
+     * @param request          Imported row
+     * @param registrationDate Registration date written for the row
+     * @param owner            Owner of the animal
+     * @return DTO as fromEntity would build it for the new animal
+     */
+    public static AnimalDTO fromImport(Long id, AnimalRequestDTO request, LocalDate registrationDate,
+            UserDTO owner) {
+        AnimalDTO dto = new AnimalDTO();
+        dto.id = id;
+        dto.version = 0L;
+        dto.name = request.getName();
+        dto.birthDate = request.getBirthDate();
+        dto.registrationDate = registrationDate;
+        dto.weightKg = request.getWeightKg();
+        dto.color = request.getColor();
+        dto.gender = request.getGender();
+        dto.animalType = request.getAnimalType();
+        dto.notes = request.getNotes();
+        dto.diet = request.getDiet();
+        dto.neutered = request.isNeutered();
+        dto.lastDeworming = request.getLastDeworming();
+        dto.owner = owner;
+        dto.specificFields = AnimalTypeMappers.specificFields(request);
+        return dto;
+    }
+
     public Long getId() {
         return id;
     }
@@ -160,6 +135,14 @@ public class AnimalDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -256,11 +239,11 @@ public class AnimalDTO {
         this.owner = owner;
     }
 
-    public Map<String, Object> getSpecificFields() {
+    public AnimalSpecificFields getSpecificFields() {
         return specificFields;
     }
 
-    public void setSpecificFields(Map<String, Object> specificFields) {
+    public void setSpecificFields(AnimalSpecificFields specificFields) {
         this.specificFields = specificFields;
     }
 
@@ -271,4 +254,12 @@ public class AnimalDTO {
     public void setHealthIssues(List<HealthIssueDTO> healthIssues) {
         this.healthIssues = healthIssues;
     }
-}
\ No newline at end of file
+
+    public List<VaccineDTO> getVaccines() {
+        return vaccines;
+    }
+
+    public void setVaccines(List<VaccineDTO> vaccines) {
+        this.vaccines = vaccines;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.dto;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Animal properties that can be requested individually through the
+ * {@code fields} query parameter. Declaration order is the order in which
+ * the properties are written, matching {@link AnimalDTO}.
+ */
+public enum AnimalField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    BIRTH_DATE("birthDate", "birthDate"),
+    REGISTRATION_DATE("registrationDate", "registrationDate"),
+    WEIGHT_KG("weightKg", "weightKg"),
+    COLOR("color", "color"),
+    GENDER("gender", "gender"),
+    ANIMAL_TYPE("animalType", "animalType"),
+    NOTES("notes", "notes"),
+    DIET("diet", "diet"),
+    NEUTERED("neutered", "neutered"),
+    LAST_DEWORMING("lastDeworming", "lastDeworming"),
+    OWNER("owner", null),
+    HEALTH_ISSUES("healthIssues", null),
+    SPECIFIC_FIELDS("specificFields", null);
+
+    private static final Map<String, AnimalField> BY_JSON_NAME = new HashMap<>();
+
+    static {
+        for (AnimalField field : values()) {
+            BY_JSON_NAME.put(field.jsonName, field);
+        }
+    }
+
+    private final String jsonName;
+    private final String attribute;
+
+    AnimalField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * @return Entity attribute selected for this field, or null when the field
+     *         is an association or needs the whole row
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Parse a comma separated list of field names, e.g. "name,lastDeworming".
+     * The id is always included, and the animal type whenever the specific
+     * fields are requested, since it selects their shape.
+     *
+     * @param fields Comma separated field names
+     * @return Requested fields
+     * @throws IllegalArgumentException if a name is not a known field
+     */
+    public static Set<AnimalField> parse(String fields) {
+        Set<AnimalField> result = EnumSet.of(ID);
+
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            AnimalField field = BY_JSON_NAME.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Campo desconocido: " + trimmed);
+            }
+            result.add(field);
+        }
+
+        if (result.contains(SPECIFIC_FIELDS)) {
+            result.add(ANIMAL_TYPE);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.dto;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Sparse view of an animal holding only the fields requested with
+ * {@code fields=}. Values are stored by {@link AnimalField} ordinal and
+ * written in the same order and with the same null handling as {@link AnimalDTO}.
+ */
+@JsonSerialize(using = AnimalProjectionDTO.Serializer.class)
+public class AnimalProjectionDTO {
+
+    private final Set<AnimalField> fields;
+    private final Object[] values = new Object[AnimalField.values().length];
+
+    public AnimalProjectionDTO(Set<AnimalField> fields) {
+        this.fields = fields;
+    }
+
+    public Set<AnimalField> getFields() {
+        return fields;
+    }
+
+    public Object get(AnimalField field) {
+        return values[field.ordinal()];
+    }
+
+    public void set(AnimalField field, Object value) {
+        values[field.ordinal()] = value;
+    }
+
+    public Long getId() {
+        return (Long) get(AnimalField.ID);
+    }
+
+    public static class Serializer extends JsonSerializer<AnimalProjectionDTO> {
+
+        @Override
+        public void serialize(AnimalProjectionDTO animal, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject();
+            for (AnimalField field : animal.fields) {
+                Object value = animal.get(field);
+                if (value != null) {
+                    provider.defaultSerializeField(field.getJsonName(), value, gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
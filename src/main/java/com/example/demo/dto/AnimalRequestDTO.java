@@ -2,6 +2,7 @@ package com.example.demo.dto;
 
 import java.time.LocalDate;
 
+import com.example.demo.entities.*;
 import com.example.demo.enums.AnimalType;
 
 import jakarta.validation.constraints.NotBlank;
@@ -63,6 +64,72 @@ public class AnimalRequestDTO {
     private Integer lifespanYears;
     private String teethCondition;
 
+    /**
+     * Request that would leave the animal unchanged, used as the target of a
+     * merge patch
+     */
+    public static AnimalRequestDTO fromEntity(Animal animal) {
+        AnimalRequestDTO r = new AnimalRequestDTO();
+        r.name = animal.getName();
+        r.birthDate = animal.getBirthDate();
+        r.weightKg = animal.getWeightKg();
+        r.color = animal.getColor();
+        r.notes = animal.getNotes();
+        r.diet = animal.getDiet();
+        r.gender = animal.getGender();
+        r.neutered = animal.isNeutered();
+        r.lastDeworming = animal.getLastDeworming();
+        r.animalType = animal.getAnimalType();
+
+        switch (animal.getAnimalType()) {
+            case DOG -> {
+                Dog dog = (Dog) animal;
+                r.breed = dog.getBreed();
+                r.size = dog.getSize();
+                r.coatType = dog.getCoatType();
+                r.pedigree = dog.isPedigree();
+            }
+            case CAT -> {
+                Cat cat = (Cat) animal;
+                r.breed = cat.getBreed();
+                r.coatType = cat.getCoatType();
+                r.indoorOnly = cat.isIndoorOnly();
+            }
+            case BIRD -> {
+                Bird bird = (Bird) animal;
+                r.species = bird.getSpecies();
+                r.clippedWings = bird.isClippedWings();
+                r.talkingAbility = bird.isTalkingAbility();
+            }
+            case REPTILE -> {
+                Reptile reptile = (Reptile) animal;
+                r.species = reptile.getSpecies();
+                r.habitatType = reptile.getHabitatType();
+                r.temperatureRequirements = reptile.getTemperatureRequirements();
+                r.venomous = reptile.isVenomous();
+            }
+            case FISH -> {
+                Fish fish = (Fish) animal;
+                r.species = fish.getSpecies();
+                r.waterType = fish.getWaterType();
+                r.waterTemperature = fish.getWaterTemperature();
+                r.phLevel = fish.getPhLevel();
+                r.socialBehavior = fish.getSocialBehavior();
+            }
+            case RODENT -> {
+                Rodent rodent = (Rodent) animal;
+                r.species = rodent.getSpecies();
+                r.cageTrained = rodent.isCageTrained();
+                r.lifespanYears = rodent.getLifespanYears();
+                r.teethCondition = rodent.getTeethCondition();
+            }
+            default -> {
+            }
+        }
+
+        return r;
+    }
+
     // Getters and setters
     public String getName() {
         return name;
@@ -0,0 +1,49 @@
+package com.example.demo.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Typed holders for the fields that only exist on one animal type.
+ * Each record serializes to the same JSON object the former
+ * {@code Map<String, Object>} produced, without boxing or hashing per animal.
+ */
+public sealed interface AnimalSpecificFields {
+
+    /**
+     * Used when no type-specific fields are exposed (BASIC detail or OTHER type)
+     */
+    enum None implements AnimalSpecificFields {
+        INSTANCE;
+
+        @JsonValue
+        public Map<String, Object> value() {
+            return Map.of();
+        }
+    }
+
+    record DogFields(String breed, String size, String coatType, boolean pedigree)
+            implements AnimalSpecificFields {
+    }
+
+    record CatFields(String breed, String coatType, boolean indoorOnly)
+            implements AnimalSpecificFields {
+    }
+
+    record BirdFields(String species, boolean clippedWings, boolean talkingAbility)
+            implements AnimalSpecificFields {
+    }
+
+    record ReptileFields(String species, String habitatType, String temperatureRequirements, boolean venomous)
+            implements AnimalSpecificFields {
+    }
+
+    record FishFields(String species, String waterType, Double waterTemperature, Double phLevel,
+            String socialBehavior) implements AnimalSpecificFields {
+    }
+
+    record RodentFields(String species, boolean cageTrained, Integer lifespanYears, String teethCondition)
+            implements AnimalSpecificFields {
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.demo.dto.AnimalSpecificFields.BirdFields;
+import com.example.demo.dto.AnimalSpecificFields.CatFields;
+import com.example.demo.dto.AnimalSpecificFields.DogFields;
+import com.example.demo.dto.AnimalSpecificFields.FishFields;
+import com.example.demo.dto.AnimalSpecificFields.ReptileFields;
+import com.example.demo.dto.AnimalSpecificFields.RodentFields;
+import com.example.demo.entities.*;
+import com.example.demo.enums.AnimalType;
+
+/**
+ * Pre-built mappers from an animal entity to its type-specific fields,
+ * resolved by {@link AnimalType} instead of an instanceof chain.
+ */
+public final class AnimalTypeMappers {
+
+    private static final Map<AnimalType, Function<Animal, AnimalSpecificFields>> MAPPERS = new EnumMap<>(
+            AnimalType.class);
+
+    static {
+        MAPPERS.put(AnimalType.DOG, animal -> {
+            Dog dog = (Dog) animal;
+            return new DogFields(dog.getBreed(), dog.getSize(), dog.getCoatType(), dog.isPedigree());
+        });
+        MAPPERS.put(AnimalType.CAT, animal -> {
+            Cat cat = (Cat) animal;
+            return new CatFields(cat.getBreed(), cat.getCoatType(), cat.isIndoorOnly());
+        });
+        MAPPERS.put(AnimalType.BIRD, animal -> {
+            Bird bird = (Bird) animal;
+            return new BirdFields(bird.getSpecies(), bird.isClippedWings(), bird.isTalkingAbility());
+        });
+        MAPPERS.put(AnimalType.REPTILE, animal -> {
+            Reptile reptile = (Reptile) animal;
+            return new ReptileFields(reptile.getSpecies(), reptile.getHabitatType(),
+                    reptile.getTemperatureRequirements(), reptile.isVenomous());
+        });
+        MAPPERS.put(AnimalType.FISH, animal -> {
+            Fish fish = (Fish) animal;
+            return new FishFields(fish.getSpecies(), fish.getWaterType(), fish.getWaterTemperature(),
+                    fish.getPhLevel(), fish.getSocialBehavior());
+        });
+        MAPPERS.put(AnimalType.RODENT, animal -> {
+            Rodent rodent = (Rodent) animal;
+            return new RodentFields(rodent.getSpecies(), rodent.isCageTrained(), rodent.getLifespanYears(),
+                    rodent.getTeethCondition());
+        });
+        MAPPERS.put(AnimalType.OTHER, animal -> AnimalSpecificFields.None.INSTANCE);
+    }
+
+    private AnimalTypeMappers() {
+    }
+
+    /**
+     * Map the type-specific fields of an (unproxied) animal entity
+     *
+     * @param type   Animal type of the entity
+     * @param animal Animal entity
+     * @return Typed specific fields for the animal
+     */
+    public static AnimalSpecificFields specificFields(AnimalType type, Animal animal) {
+        if (type == null) {
+            return AnimalSpecificFields.None.INSTANCE;
+        }
+        return MAPPERS.get(type).apply(animal);
+    }
+
+    /**
+     * Map the type-specific fields of an animal about to be created from a request
+     *
+     * @param request Animal request
+     * @return Typed specific fields for the animal
+     */
+    public static AnimalSpecificFields specificFields(AnimalRequestDTO request) {
+        if (request.getAnimalType() == null) {
+            return AnimalSpecificFields.None.INSTANCE;
+        }
+        return switch (request.getAnimalType()) {
+            case DOG -> new DogFields(request.getBreed(), request.getSize(), request.getCoatType(),
+                    request.isPedigree());
+            case CAT -> new CatFields(request.getBreed(), request.getCoatType(), request.isIndoorOnly());
+            case BIRD -> new BirdFields(request.getSpecies(), request.isClippedWings(), request.isTalkingAbility());
+            case REPTILE -> new ReptileFields(request.getSpecies(), request.getHabitatType(),
+                    request.getTemperatureRequirements(), request.isVenomous());
+            case FISH -> new FishFields(request.getSpecies(), request.getWaterType(), request.getWaterTemperature(),
+                    request.getPhLevel(), request.getSocialBehavior());
+            case RODENT -> new RodentFields(request.getSpecies(), request.isCageTrained(),
+                    request.getLifespanYears(), request.getTeethCondition());
+            case OTHER -> AnimalSpecificFields.None.INSTANCE;
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+
+import com.example.demo.entities.AuditLogEntry;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+public class AuditLogDTO {
+    private Long id;
+    private ResourceType resource;
+    private Long resourceId;
+    private ChangeType action;
+    private Long actorId;
+    private String changes;
+    private Instant occurredAt;
+
+    public AuditLogDTO() {
+    }
+
+    /**
+     * Creates a DTO from an audit log entry
+     *
+     * @param entry Audit log entry
+     * @return DTO with the change; changes is written as the stored JSON object
+     */
+    public static AuditLogDTO fromEntity(AuditLogEntry entry) {
+        AuditLogDTO dto = new AuditLogDTO();
+        dto.id = entry.getId();
+        dto.resource = entry.getResourceType();
+        dto.resourceId = entry.getResourceId();
+        dto.action = entry.getAction();
+        dto.actorId = entry.getActorId();
+        dto.changes = entry.getChanges();
+        dto.occurredAt = entry.getOccurredAt();
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ResourceType getResource() {
+        return resource;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public ChangeType getAction() {
+        return action;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    @JsonRawValue
+    public String getChanges() {
+        return changes;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
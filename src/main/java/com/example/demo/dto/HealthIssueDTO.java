@@ -14,10 +14,23 @@ public class HealthIssueDTO {
     private String description;
     private String treatment;
     private Long animalId;
+    private Long version;
 
     public HealthIssueDTO() {
     }
 
+    public HealthIssueDTO(Long id, String name, LocalDate diagnosisDate, LocalDate recoveryDate,
+            String description, String treatment, Long animalId, Long version) {
+        this.id = id;
+        this.name = name;
+        this.diagnosisDate = diagnosisDate;
+        this.recoveryDate = recoveryDate;
+        this.description = description;
+        this.treatment = treatment;
+        this.animalId = animalId;
+        this.version = version;
+    }
+
     /**
      * Creates a DTO from a HealthIssue entity
      * 
@@ -36,6 +49,7 @@ public class HealthIssueDTO {
         dto.recoveryDate = healthIssue.getRecoveryDate();
         dto.description = healthIssue.getDescription();
         dto.treatment = healthIssue.getTreatment();
+        dto.version = healthIssue.getVersion();
 
         if (healthIssue.getAnimal() != null) {
             dto.animalId = healthIssue.getAnimal().getId();
@@ -52,6 +66,14 @@ public class HealthIssueDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -2,6 +2,8 @@ package com.example.demo.dto;
 
 import java.time.LocalDate;
 
+import com.example.demo.entities.HealthIssue;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -24,6 +26,20 @@ public class HealthIssueRequestDTO {
 
     private String treatment;
 
+    /**
+     * Request that would leave the health issue unchanged, used as the target
+     * of a merge patch
+     */
+    public static HealthIssueRequestDTO fromEntity(HealthIssue healthIssue) {
+        HealthIssueRequestDTO request = new HealthIssueRequestDTO();
+        request.name = healthIssue.getName();
+        request.diagnosisDate = healthIssue.getDiagnosisDate();
+        request.recoveryDate = healthIssue.getRecoveryDate();
+        request.description = healthIssue.getDescription();
+        request.treatment = healthIssue.getTreatment();
+        return request;
+    }
+
     public String getName() {
         return name;
     }
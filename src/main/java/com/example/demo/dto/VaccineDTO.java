@@ -11,9 +11,21 @@ public class VaccineDTO {
     private LocalDate expirationDate;
     private String description;
     private Long animalId;
+    private Long version;
 
     public VaccineDTO() {
     }
+
+    public VaccineDTO(Long id, String name, LocalDate applicationDate, LocalDate expirationDate,
+            String description, Long animalId, Long version) {
+        this.id = id;
+        this.name = name;
+        this.applicationDate = applicationDate;
+        this.expirationDate = expirationDate;
+        this.description = description;
+        this.animalId = animalId;
+        this.version = version;
+    }
     
     /**
      * Creates a DTO from a Vaccine entity
@@ -32,6 +44,7 @@ public class VaccineDTO {
         dto.applicationDate = vaccine.getApplicationDate();
         dto.expirationDate = vaccine.getExpirationDate();
         dto.description = vaccine.getDescription();
+        dto.version = vaccine.getVersion();
 
         if (vaccine.getAnimal() != null) {
             dto.animalId = vaccine.getAnimal().getId();
@@ -48,6 +61,14 @@ public class VaccineDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.FutureOrPresent;
 
+import com.example.demo.entities.Vaccine;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 public class VaccineRequestDTO {
@@ -26,6 +27,20 @@ public class VaccineRequestDTO {
     public VaccineRequestDTO() {
     }
 
+    /**
+     * Update request that would leave the vaccine unchanged, used as the target
+     * of a merge patch. The application date is left out since it can only be
+     * set by confirming the vaccine.
+     */
+    public static VaccineRequestDTO fromEntity(Vaccine vaccine) {
+        VaccineRequestDTO request = new VaccineRequestDTO();
+        request.name = vaccine.getName();
+        request.expirationDate = vaccine.getExpirationDate();
+        request.description = vaccine.getDescription();
+        request.isUpdate = true;
+        return request;
+    }
+
     public String getName() {
         return name;
     }
@@ -10,9 +10,13 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.example.demo.enums.AnimalType;
 
 @Entity
+// A row holds the columns of every subtype; updates only write the changed ones
+@DynamicUpdate
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "animal_type", discriminatorType = DiscriminatorType.STRING)
 @Table(name = "animals")
@@ -65,11 +69,17 @@ public abstract class Animal {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Incremented by Hibernate on every update; doubles as the ETag
+    @Version
+    private long version;
+
     protected Animal() {
     }
 
-    protected Animal(String name, LocalDate birthDate, Double weightKg, String color,
+    protected Animal(AnimalType animalType, String name, LocalDate birthDate, Double weightKg, String color,
             String gender, boolean neutered) {
+        // Mirrors the discriminator so new instances report their type before being reloaded
+        this.animalType = animalType;
         this.name = name;
         this.birthDate = birthDate;
         this.registrationDate = LocalDate.now();
@@ -87,6 +97,10 @@ public abstract class Animal {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
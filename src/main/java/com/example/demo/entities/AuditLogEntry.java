@@ -0,0 +1,83 @@
+package com.example.demo.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+
+/**
+ * One audited change. Rows are append-only: they are inserted in JDBC batches
+ * by the audit writer and only ever read through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_log", indexes = @Index(name = "idx_audit_log_animal", columnList = "animal_id, occurred_at"))
+public class AuditLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false)
+    private ResourceType resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Column(name = "animal_id")
+    private Long animalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType action;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    // JSON object of field -> {before, after}
+    @Lob
+    private String changes;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    protected AuditLogEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public Long getAnimalId() {
+        return animalId;
+    }
+
+    public ChangeType getAction() {
+        return action;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
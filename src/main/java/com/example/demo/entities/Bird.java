@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("BIRD")
 public class Bird extends Animal {
 
@@ -24,7 +29,7 @@ public class Bird extends Animal {
 
     public Bird(String name, LocalDate birthDate, Double weightKg, String color, 
                String gender, boolean neutered, String species, boolean clippedWings) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.BIRD, name, birthDate, weightKg, color, gender, neutered);
         this.species = species;
         this.clippedWings = clippedWings;
     }
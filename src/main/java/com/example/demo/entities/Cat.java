@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("CAT")
 public class Cat extends Animal {
 
@@ -24,7 +29,7 @@ public class Cat extends Animal {
 
     public Cat(String name, LocalDate birthDate, Double weightKg, String color, 
               String gender, boolean neutered, String breed, String coatType, boolean indoorOnly) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.CAT, name, birthDate, weightKg, color, gender, neutered);
         this.breed = breed;
         this.coatType = coatType;
         this.indoorOnly = indoorOnly;
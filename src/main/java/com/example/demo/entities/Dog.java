@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("DOG")
 public class Dog extends Animal {
 
@@ -26,7 +31,7 @@ public class Dog extends Animal {
 
     public Dog(String name, LocalDate birthDate, Double weightKg, String color, 
               String gender, boolean neutered, String breed, String size, String coatType) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.DOG, name, birthDate, weightKg, color, gender, neutered);
         this.breed = breed;
         this.size = size;
         this.coatType = coatType;
@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("FISH")
 public class Fish extends Animal {
 
@@ -30,7 +35,7 @@ public class Fish extends Animal {
 
     public Fish(String name, LocalDate birthDate, Double weightKg, String color, 
                String gender, boolean neutered, String species, String waterType) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.FISH, name, birthDate, weightKg, color, gender, neutered);
         this.species = species;
         this.waterType = waterType;
     }
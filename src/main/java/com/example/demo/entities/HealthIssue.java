@@ -7,7 +7,10 @@ import jakarta.validation.constraints.PastOrPresent;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
+@DynamicUpdate
 @Table(name = "health_issues")
 public class HealthIssue {
 
@@ -31,10 +34,14 @@ public class HealthIssue {
     @Column(name = "treatment")
     private String treatment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id")
     private Animal animal;
 
+    // Incremented by Hibernate on every update; doubles as the ETag
+    @Version
+    private long version;
+
     protected HealthIssue() {
     }
 
@@ -57,6 +64,10 @@ public class HealthIssue {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,79 @@
+package com.example.demo.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.demo.enums.MeasurementType;
+
+/**
+ * One reading of an animal's time series. The primary key is the series and
+ * the time, so InnoDB stores each series contiguously in time order and no
+ * surrogate id or secondary index is needed. Rows are appended with JDBC by
+ * MeasurementService; the entity only defines the table.
+ */
+@Entity
+@Immutable
+@IdClass(Measurement.Key.class)
+@Table(name = "measurements")
+public class Measurement {
+
+    @Id
+    @Column(name = "animal_id")
+    private Long animalId;
+
+    @Id
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "type")
+    private MeasurementType type;
+
+    @Id
+    @Column(name = "measured_at")
+    private Instant measuredAt;
+
+    @Column(nullable = false)
+    private double reading;
+
+    protected Measurement() {
+    }
+
+    public Long getAnimalId() {
+        return animalId;
+    }
+
+    public MeasurementType getType() {
+        return type;
+    }
+
+    public Instant getMeasuredAt() {
+        return measuredAt;
+    }
+
+    public double getReading() {
+        return reading;
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long animalId;
+        private MeasurementType type;
+        private Instant measuredAt;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(animalId, other.animalId) && type == other.type
+                    && Objects.equals(measuredAt, other.measuredAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(animalId, type, measuredAt);
+        }
+    }
+}
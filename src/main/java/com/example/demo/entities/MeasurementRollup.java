@@ -0,0 +1,110 @@
+package com.example.demo.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.demo.enums.MeasurementGranularity;
+import com.example.demo.enums.MeasurementType;
+
+/**
+ * Aggregate of the readings of one series in a day, week or month bucket.
+ * Maintained incrementally on ingestion so charts never scan raw readings.
+ * Written with JDBC by MeasurementService; the entity only defines the table.
+ */
+@Entity
+@Immutable
+@IdClass(MeasurementRollup.Key.class)
+@Table(name = "measurement_rollups")
+public class MeasurementRollup {
+
+    @Id
+    @Column(name = "animal_id")
+    private Long animalId;
+
+    @Id
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "type")
+    private MeasurementType type;
+
+    @Id
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "granularity")
+    private MeasurementGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "value_sum", nullable = false)
+    private double valueSum;
+
+    @Column(name = "min_value", nullable = false)
+    private double minValue;
+
+    @Column(name = "max_value", nullable = false)
+    private double maxValue;
+
+    protected MeasurementRollup() {
+    }
+
+    public Long getAnimalId() {
+        return animalId;
+    }
+
+    public MeasurementType getType() {
+        return type;
+    }
+
+    public MeasurementGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public double getValueSum() {
+        return valueSum;
+    }
+
+    public double getMinValue() {
+        return minValue;
+    }
+
+    public double getMaxValue() {
+        return maxValue;
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long animalId;
+        private MeasurementType type;
+        private MeasurementGranularity granularity;
+        private LocalDate bucketStart;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(animalId, other.animalId) && type == other.type
+                    && granularity == other.granularity && Objects.equals(bucketStart, other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(animalId, type, granularity, bucketStart);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+
+/**
+ * Change waiting to be relayed to other systems. Rows are inserted with JDBC in
+ * the transaction that made the change and deleted once published; the entity
+ * only defines the table.
+ */
+@Entity
+@Immutable
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false)
+    private ResourceType resourceType;
+
+    @Column(name = "resource_id")
+    private Long resourceId;
+
+    @Column(name = "animal_id")
+    private Long animalId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ChangeType changeType;
+
+    // EntityChangedEvent as JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected OutboxEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public Long getAnimalId() {
+        return animalId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("REPTILE")
 public class Reptile extends Animal {
 
@@ -26,7 +31,7 @@ public class Reptile extends Animal {
     
     public Reptile(String name, LocalDate birthDate, Double weightKg, String color, 
                   String gender, boolean neutered, String species, String habitatType) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.REPTILE, name, birthDate, weightKg, color, gender, neutered);
         this.species = species;
         this.habitatType = habitatType;
     }
@@ -6,7 +6,12 @@ import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.example.demo.enums.AnimalType;
+
 @Entity
+@DynamicUpdate
 @DiscriminatorValue("RODENT")
 public class Rodent extends Animal {
 
@@ -27,7 +32,7 @@ public class Rodent extends Animal {
 
     public Rodent(String name, LocalDate birthDate, Double weightKg, String color,
             String gender, boolean neutered, String species, boolean cageTrained) {
-        super(name, birthDate, weightKg, color, gender, neutered);
+        super(AnimalType.RODENT, name, birthDate, weightKg, color, gender, neutered);
         this.species = species;
         this.cageTrained = cageTrained;
     }
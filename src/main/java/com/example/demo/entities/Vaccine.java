@@ -6,8 +6,11 @@ import jakarta.validation.constraints.PastOrPresent;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
-@Table(name = "vaccines")
+@DynamicUpdate
+@Table(name = "vaccines", indexes = @Index(name = "idx_vaccines_expiration_date", columnList = "expiration_date"))
 public class Vaccine {
 
     @Id
@@ -26,10 +29,14 @@ public class Vaccine {
     
     private String description;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id")
     private Animal animal;
 
+    // Incremented by Hibernate on every update; doubles as the ETag
+    @Version
+    private long version;
+
     protected Vaccine() {
     }
 
@@ -49,6 +56,10 @@ public class Vaccine {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,8 @@
+package com.example.demo.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    APPLIED,
+    DELETED
+}
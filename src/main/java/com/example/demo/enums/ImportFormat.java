@@ -0,0 +1,37 @@
+package com.example.demo.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the import format from a request Content-Type header
+     *
+     * @param contentType Raw Content-Type header value
+     * @return Matching import format
+     * @throws IllegalArgumentException if the content type is not supported
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de importación no soportado: " + contentType);
+    }
+}
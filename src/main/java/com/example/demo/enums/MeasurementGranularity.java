@@ -0,0 +1,26 @@
+package com.example.demo.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Size of a measurement rollup bucket. Buckets follow UTC dates, weeks start
+ * on Monday. Stored by ordinal.
+ */
+public enum MeasurementGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * First day of the bucket that contains the given date
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
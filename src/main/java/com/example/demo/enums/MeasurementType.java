@@ -0,0 +1,25 @@
+package com.example.demo.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Kind of reading stored in the measurement time series. Stored by ordinal,
+ * so new values must be appended at the end.
+ */
+public enum MeasurementType {
+    WEIGHT(EnumSet.allOf(AnimalType.class)),
+    WATER_TEMPERATURE(EnumSet.of(AnimalType.FISH)),
+    PH_LEVEL(EnumSet.of(AnimalType.FISH)),
+    TEMPERATURE(EnumSet.of(AnimalType.REPTILE));
+
+    private final Set<AnimalType> animalTypes;
+
+    MeasurementType(Set<AnimalType> animalTypes) {
+        this.animalTypes = animalTypes;
+    }
+
+    public boolean appliesTo(AnimalType animalType) {
+        return animalTypes.contains(animalType);
+    }
+}
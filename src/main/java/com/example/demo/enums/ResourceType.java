@@ -0,0 +1,7 @@
+package com.example.demo.enums;
+
+public enum ResourceType {
+    ANIMAL,
+    VACCINE,
+    HEALTH_ISSUE
+}
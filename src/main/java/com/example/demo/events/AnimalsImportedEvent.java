@@ -0,0 +1,13 @@
+package com.example.demo.events;
+
+/**
+ * Published once a bulk import ends, also when the upload fails after some
+ * batches were committed. Imported rows are written with JDBC batches and
+ * produce no {@link EntityChangedEvent}s, so listeners that keep derived state
+ * for a user refresh it from this event instead.
+ *
+ * @param userId       Owner of the imported animals
+ * @param importedRows Number of animals committed
+ */
+public record AnimalsImportedEvent(Long userId, long importedRows) {
+}
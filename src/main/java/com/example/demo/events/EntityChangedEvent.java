@@ -0,0 +1,35 @@
+package com.example.demo.events;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Published by the services when a user's data changes. Listeners that talk to
+ * the outside world handle it after commit, so they never see rolled back changes.
+ *
+ * @param resource Kind of resource that changed
+ * @param change   What happened to it
+ * @param id       Resource id
+ * @param animalId Animal the resource belongs to (the animal itself for ANIMAL)
+ * @param userId   Owner, used for routing; not serialized
+ * @param data     Resource DTO after the change, null for deletions
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EntityChangedEvent(
+        ResourceType resource,
+        ChangeType change,
+        Long id,
+        Long animalId,
+        @JsonIgnore Long userId,
+        Object data) {
+
+    /**
+     * SSE event name, e.g. "vaccine.updated"
+     */
+    @JsonIgnore
+    public String eventName() {
+        return resource.name().toLowerCase() + "." + change.name().toLowerCase();
+    }
+}
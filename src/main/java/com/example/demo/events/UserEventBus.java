@@ -0,0 +1,173 @@
+package com.example.demo.events;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans committed {@link EntityChangedEvent}s out to the SSE connections of
+ * their owner. An idle connection is only an SseEmitter in a map; the servlet
+ * request is in async mode and holds no thread.
+ * <p>
+ * Each connection has its own queue, drained by at most one virtual thread at
+ * a time, so a client receives its events in commit order with increasing ids
+ * while a slow client never blocks the committing request or other
+ * subscribers. A client that falls more than MAX_PENDING messages behind is
+ * disconnected and has to reconnect and reload.
+ */
+@Component
+public class UserEventBus {
+
+    private static final int MAX_PENDING = 1000;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long timeoutMillis;
+
+    public UserEventBus(@Value("${events.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Open a new stream for a user
+     */
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMillis));
+        Set<Subscriber> userSubscribers = subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        userSubscribers.add(subscriber);
+
+        SseEmitter emitter = subscriber.emitter;
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        subscriber.enqueue(() -> SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(event.userId());
+        if (userSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            // Built by the draining thread, so ids follow the order of the stream
+            subscriber.enqueue(() -> SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(event.eventName())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Comment line that keeps proxies from closing idle streams and detects
+     * clients that went away without closing the connection
+     */
+    @Scheduled(fixedRateString = "${events.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.enqueue(() -> SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            userSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        senders.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    /**
+     * One SSE connection and the messages waiting to be written to it
+     */
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        // ConcurrentLinkedQueue.size() is O(n); the bound is kept in a separate counter
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> message) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING) {
+                close(new IllegalStateException("SSE client fell " + MAX_PENDING + " messages behind"));
+                return;
+            }
+            pending.offer(message);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> message;
+                while ((message = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(message.get());
+                    } catch (IOException | IllegalStateException e) {
+                        close(e);
+                        return;
+                    }
+                }
+
+                draining.set(false);
+                // A message enqueued after the last poll but before the flag was
+                // cleared found draining set and left it to this thread
+                if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private void close(Throwable cause) {
+            unsubscribe(this);
+            pending.clear();
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.exception;
+
+/**
+ * Thrown when a conditional write names a version of a resource that is no
+ * longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String resourceName, Object id, long currentVersion) {
+        super(String.format("%s with id '%s' has been modified, current version is %d", resourceName, id,
+                currentVersion));
+    }
+
+    /**
+     * Fail unless the expected version, when given, is the current one
+     */
+    public static void check(String resourceName, Object id, Long expectedVersion, long currentVersion) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new PreconditionFailedException(resourceName, id, currentVersion);
+        }
+    }
+}
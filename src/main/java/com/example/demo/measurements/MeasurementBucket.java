@@ -0,0 +1,15 @@
+package com.example.demo.measurements;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated readings of one rollup bucket
+ *
+ * @param start   First day of the bucket (UTC)
+ * @param count   Number of readings
+ * @param average Mean reading
+ * @param min     Lowest reading
+ * @param max     Highest reading
+ */
+public record MeasurementBucket(LocalDate start, int count, double average, double min, double max) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.measurements;
+
+/**
+ * Outcome of an ingestion batch
+ *
+ * @param received   Readings in the request
+ * @param stored     Readings added to the series
+ * @param duplicates Readings skipped because the series already had a reading at that time
+ */
+public record MeasurementIngestResult(int received, int stored, int duplicates) {
+}
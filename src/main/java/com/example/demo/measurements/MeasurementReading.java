@@ -0,0 +1,16 @@
+package com.example.demo.measurements;
+
+import java.time.Instant;
+
+import com.example.demo.enums.MeasurementType;
+
+/**
+ * One reading in an ingestion batch
+ *
+ * @param animalId   Animal the reading belongs to
+ * @param type       What was measured
+ * @param value      Reading, in kg for WEIGHT, °C for temperatures
+ * @param measuredAt When it was taken
+ */
+public record MeasurementReading(Long animalId, MeasurementType type, Double value, Instant measuredAt) {
+}
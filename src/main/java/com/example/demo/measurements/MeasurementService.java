@@ -0,0 +1,296 @@
+package com.example.demo.measurements;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.enums.AnimalType;
+import com.example.demo.enums.MeasurementGranularity;
+import com.example.demo.enums.MeasurementType;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repositories.AnimalRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Append-only measurement time series. Readings are written in JDBC batches
+ * and folded into day, week and month rollups in the same transaction, so
+ * chart queries read one row per bucket instead of the raw readings.
+ * <p>
+ * Ingestion is idempotent: a reading whose series already has a value at the
+ * same time is skipped, so a client can resend a batch after a failure
+ * without counting it twice in the rollups. When a concurrent request commits
+ * some of the same readings first, the insert fails on the primary key and the
+ * batch is retried in a new transaction, which sees and skips them.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class MeasurementService {
+
+    // Tolerated difference between the client's clock and ours
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+    private static final int MAX_INGEST_ATTEMPTS = 3;
+
+    private static final String INSERT_SQL = "INSERT INTO measurements (animal_id, type, measured_at, reading) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String EXISTING_SQL = "SELECT measured_at FROM measurements "
+            + "WHERE animal_id = ? AND type = ? AND measured_at BETWEEN ? AND ?";
+    private static final String LATEST_SQL = "SELECT reading FROM measurements "
+            + "WHERE animal_id = ? AND type = ? ORDER BY measured_at DESC LIMIT 1";
+    private static final String ROLLUP_SQL = "INSERT INTO measurement_rollups "
+            + "(animal_id, type, granularity, bucket_start, sample_count, value_sum, min_value, max_value) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "sample_count = sample_count + VALUES(sample_count), value_sum = value_sum + VALUES(value_sum), "
+            + "min_value = LEAST(min_value, VALUES(min_value)), max_value = GREATEST(max_value, VALUES(max_value))";
+    private static final String BUCKETS_SQL = "SELECT bucket_start, sample_count, value_sum, min_value, max_value "
+            + "FROM measurement_rollups WHERE animal_id = ? AND type = ? AND granularity = ? "
+            + "AND bucket_start BETWEEN ? AND ? ORDER BY bucket_start";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnimalRepository animalRepository;
+    private final int maxBatchSize;
+
+    public MeasurementService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AnimalRepository animalRepository,
+            @Value("${measurements.batch.max-size:1000}") int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.animalRepository = animalRepository;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Store a batch of readings for any of the user's animals
+     *
+     * @throws ResourceNotFoundException if an animal does not exist or belongs to another user
+     * @throws IllegalArgumentException  if a reading is incomplete, in the future or of a
+     *                                   type that does not apply to its animal
+     */
+    // Each attempt runs in its own transaction, see the class comment
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MeasurementIngestResult ingest(List<MeasurementReading> readings, Long userId) {
+        if (readings == null || readings.isEmpty()) {
+            throw new IllegalArgumentException("No se recibieron mediciones");
+        }
+        if (readings.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Se admiten como máximo " + maxBatchSize + " mediciones por petición");
+        }
+
+        Instant latest = Instant.now().plus(MAX_CLOCK_SKEW);
+        Set<Long> animalIds = new HashSet<>();
+        for (int i = 0; i < readings.size(); i++) {
+            MeasurementReading reading = readings.get(i);
+            if (reading == null || reading.animalId() == null || reading.type() == null || reading.value() == null
+                    || reading.measuredAt() == null) {
+                throw new IllegalArgumentException(
+                        "Medición " + i + ": animalId, type, value y measuredAt son requeridos");
+            }
+            if (!Double.isFinite(reading.value())) {
+                throw new IllegalArgumentException("Medición " + i + ": el valor no es un número válido");
+            }
+            if (reading.measuredAt().isAfter(latest)) {
+                throw new IllegalArgumentException("Medición " + i + ": la fecha no puede ser futura");
+            }
+            animalIds.add(reading.animalId());
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> ingestOnce(readings, animalIds, userId));
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_INGEST_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private MeasurementIngestResult ingestOnce(List<MeasurementReading> readings, Set<Long> animalIds,
+            Long userId) {
+        Map<Long, AnimalType> animalTypes = new HashMap<>();
+        for (OwnedAnimal animal : animalRepository.findOwnedByIdIn(animalIds, userId)) {
+            animalTypes.put(animal.id(), animal.animalType());
+        }
+        for (int i = 0; i < readings.size(); i++) {
+            MeasurementReading reading = readings.get(i);
+            AnimalType animalType = animalTypes.get(reading.animalId());
+            if (animalType == null) {
+                throw new ResourceNotFoundException("Animal", "id", reading.animalId());
+            }
+            if (!reading.type().appliesTo(animalType)) {
+                throw new IllegalArgumentException("Medición " + i + ": " + reading.type()
+                        + " no se registra para animales de tipo " + animalType);
+            }
+        }
+
+        int stored = store(readings);
+        return new MeasurementIngestResult(readings.size(), stored, readings.size() - stored);
+    }
+
+    /**
+     * Aggregated readings of one series, oldest bucket first
+     *
+     * @param from First day to include, defaults to one year before to
+     * @param to   Last day to include, defaults to today (UTC)
+     */
+    public List<MeasurementBucket> getBuckets(Long animalId, Long userId, MeasurementType type,
+            MeasurementGranularity granularity, LocalDate from, LocalDate to) {
+        if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
+            throw new ResourceNotFoundException("Animal", "id", animalId);
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final");
+        }
+
+        return jdbcTemplate.query(BUCKETS_SQL,
+                (rs, rowNum) -> {
+                    int count = rs.getInt("sample_count");
+                    return new MeasurementBucket(
+                            rs.getObject("bucket_start", LocalDate.class),
+                            count,
+                            rs.getDouble("value_sum") / count,
+                            rs.getDouble("min_value"),
+                            rs.getDouble("max_value"));
+                },
+                animalId, type.ordinal(), granularity.ordinal(), granularity.bucketStart(start), end);
+    }
+
+    /**
+     * Append a reading unless it equals the latest one of its series. Used to
+     * keep the weight history from the animal's own weightKg.
+     */
+    @Transactional
+    public void recordIfChanged(Long animalId, MeasurementType type, double value, Instant measuredAt) {
+        List<Double> latest = jdbcTemplate.queryForList(LATEST_SQL, Double.class, animalId, type.ordinal());
+        if (latest.isEmpty() || latest.get(0) != value) {
+            store(List.of(new MeasurementReading(animalId, type, value, measuredAt)));
+        }
+    }
+
+    /**
+     * Remove every reading and rollup of an animal
+     */
+    @Transactional
+    public void deleteByAnimal(Long animalId) {
+        jdbcTemplate.update("DELETE FROM measurements WHERE animal_id = ?", animalId);
+        jdbcTemplate.update("DELETE FROM measurement_rollups WHERE animal_id = ?", animalId);
+    }
+
+    /**
+     * Insert the readings that are not stored yet and add them to the rollups
+     *
+     * @return Number of readings inserted
+     */
+    private int store(List<MeasurementReading> readings) {
+        // Stored with millisecond precision; the last reading wins within a batch
+        Map<Point, Double> points = new LinkedHashMap<>();
+        for (MeasurementReading reading : readings) {
+            Instant measuredAt = reading.measuredAt().truncatedTo(ChronoUnit.MILLIS);
+            points.put(new Point(reading.animalId(), reading.type(), measuredAt), reading.value());
+        }
+
+        Map<Series, List<Point>> bySeries = new LinkedHashMap<>();
+        for (Point point : points.keySet()) {
+            bySeries.computeIfAbsent(new Series(point.animalId(), point.type()), s -> new ArrayList<>()).add(point);
+        }
+
+        List<Object[]> rows = new ArrayList<>(points.size());
+        Map<BucketKey, Bucket> buckets = new LinkedHashMap<>();
+        for (Map.Entry<Series, List<Point>> entry : bySeries.entrySet()) {
+            Set<Instant> existing = existingTimes(entry.getKey(), entry.getValue());
+            for (Point point : entry.getValue()) {
+                if (existing.contains(point.measuredAt())) {
+                    continue;
+                }
+                double value = points.get(point);
+                rows.add(new Object[] { point.animalId(), point.type().ordinal(), Timestamp.from(point.measuredAt()),
+                        value });
+
+                LocalDate day = LocalDate.ofInstant(point.measuredAt(), ZoneOffset.UTC);
+                for (MeasurementGranularity granularity : MeasurementGranularity.values()) {
+                    BucketKey key = new BucketKey(point.animalId(), point.type(), granularity,
+                            granularity.bucketStart(day));
+                    buckets.computeIfAbsent(key, k -> new Bucket()).add(value);
+                }
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        List<Object[]> rollups = new ArrayList<>(buckets.size());
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            BucketKey key = entry.getKey();
+            Bucket bucket = entry.getValue();
+            rollups.add(new Object[] { key.animalId(), key.type().ordinal(), key.granularity().ordinal(),
+                    key.start(), bucket.count, bucket.sum, bucket.min, bucket.max });
+        }
+        jdbcTemplate.batchUpdate(ROLLUP_SQL, rollups);
+
+        return rows.size();
+    }
+
+    private Set<Instant> existingTimes(Series series, List<Point> points) {
+        Instant first = points.get(0).measuredAt();
+        Instant last = first;
+        for (Point point : points) {
+            first = point.measuredAt().isBefore(first) ? point.measuredAt() : first;
+            last = point.measuredAt().isAfter(last) ? point.measuredAt() : last;
+        }
+
+        return new HashSet<>(jdbcTemplate.query(EXISTING_SQL,
+                (rs, rowNum) -> rs.getTimestamp(1).toInstant(),
+                series.animalId(), series.type().ordinal(), Timestamp.from(first), Timestamp.from(last)));
+    }
+
+    private record Series(Long animalId, MeasurementType type) {
+    }
+
+    private record Point(Long animalId, MeasurementType type, Instant measuredAt) {
+    }
+
+    private record BucketKey(Long animalId, MeasurementType type, MeasurementGranularity granularity,
+            LocalDate start) {
+    }
+
+    private static class Bucket {
+        int count;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+}
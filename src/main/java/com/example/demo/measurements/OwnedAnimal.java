@@ -0,0 +1,9 @@
+package com.example.demo.measurements;
+
+import com.example.demo.enums.AnimalType;
+
+/**
+ * Id and type of an animal owned by the requesting user
+ */
+public record OwnedAnimal(Long id, AnimalType animalType) {
+}
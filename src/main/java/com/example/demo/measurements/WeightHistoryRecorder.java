@@ -0,0 +1,42 @@
+package com.example.demo.measurements;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.MeasurementType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.EntityChangedEvent;
+
+/**
+ * Keeps the WEIGHT series in step with Animal.weightKg: creating an animal or
+ * changing its weight appends a reading, and deleting it removes its
+ * measurements. Runs in the writing transaction.
+ */
+@Component
+public class WeightHistoryRecorder {
+
+    private final MeasurementService measurementService;
+
+    public WeightHistoryRecorder(MeasurementService measurementService) {
+        this.measurementService = measurementService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.resource() != ResourceType.ANIMAL) {
+            return;
+        }
+
+        if (event.change() == ChangeType.DELETED) {
+            measurementService.deleteByAnimal(event.id());
+        } else if (event.data() instanceof AnimalDTO animal && animal.getWeightKg() != null) {
+            measurementService.recordIfChanged(event.id(), MeasurementType.WEIGHT, animal.getWeightKg(),
+                    Instant.now());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.metrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL activity of a single request: how many statements ran, how long the
+ * database took in total, and how often each distinct statement was repeated.
+ * Only touched by the request thread, so it is not synchronized.
+ */
+public class RequestSqlTrace {
+
+    private int statements;
+    private long totalMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    void record(String sql, long elapsedMillis) {
+        statements++;
+        totalMillis += elapsedMillis;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Statements executed at least {@code threshold} times, most repeated first.
+     * With prepared statements the SQL text is the same for every parameter set,
+     * so a loop of lazy loads shows up here as one entry.
+     */
+    public List<Map.Entry<String, Integer>> repeatedStatements(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .toList();
+    }
+}
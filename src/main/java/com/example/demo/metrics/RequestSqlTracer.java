@@ -0,0 +1,38 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link RequestSqlTrace} of the request running on the current
+ * thread. Statements run outside a traced request are ignored.
+ */
+@Component
+public class RequestSqlTracer {
+
+    private final ThreadLocal<RequestSqlTrace> current = new ThreadLocal<>();
+
+    /**
+     * Start tracing for the current thread
+     */
+    public void begin() {
+        current.set(new RequestSqlTrace());
+    }
+
+    public void record(String sql, long elapsedMillis) {
+        RequestSqlTrace trace = current.get();
+        if (trace != null) {
+            trace.record(sql, elapsedMillis);
+        }
+    }
+
+    /**
+     * Stop tracing for the current thread
+     *
+     * @return Statements recorded since {@link #begin()}, empty if tracing was not started
+     */
+    public RequestSqlTrace end() {
+        RequestSqlTrace trace = current.get();
+        current.remove();
+        return trace == null ? new RequestSqlTrace() : trace;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Traces the SQL issued by each request. Records statement count and database
+ * time tagged by endpoint, and logs a structured warning when a request runs
+ * too many statements, spends too long in the database or repeats the same
+ * statement (the usual N+1 signature). Runs before the security filters so the
+ * JWT user lookup is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlTracingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTracingFilter.class);
+
+    private static final int MAX_LOGGED_STATEMENTS = 3;
+
+    private final RequestSqlTracer requestSqlTracer;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final long maxDbMillis;
+    private final int repeatedStatementThreshold;
+
+    public SqlTracingFilter(RequestSqlTracer requestSqlTracer, MeterRegistry meterRegistry,
+            @Value("${sql.trace.max-statements:30}") int maxStatements,
+            @Value("${sql.trace.max-db-time-ms:500}") long maxDbMillis,
+            @Value("${sql.trace.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.requestSqlTracer = requestSqlTracer;
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxDbMillis = maxDbMillis;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        requestSqlTracer.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlTrace trace = requestSqlTracer.end();
+            String uri = uri(request);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri,
+                    "status", String.valueOf(response.getStatus()));
+
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements issued per HTTP request")
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(trace.getStatements());
+            Timer.builder("http.server.requests.sql.time")
+                    .description("Database time per HTTP request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(trace.getTotalMillis(), TimeUnit.MILLISECONDS);
+
+            warnIfOverThresholds(request.getMethod(), uri, trace);
+        }
+    }
+
+    private void warnIfOverThresholds(String method, String uri, RequestSqlTrace trace) {
+        List<Map.Entry<String, Integer>> repeated = trace.repeatedStatements(repeatedStatementThreshold);
+
+        if (trace.getStatements() <= maxStatements && trace.getTotalMillis() <= maxDbMillis && repeated.isEmpty()) {
+            return;
+        }
+
+        StringBuilder repeatedSummary = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : repeated.subList(0, Math.min(MAX_LOGGED_STATEMENTS, repeated.size()))) {
+            repeatedSummary.append(" [").append(entry.getValue()).append("x] ").append(entry.getKey());
+        }
+
+        log.warn("sql-trace method={} uri={} statements={} dbTimeMs={} repeatedStatements={}{}",
+                method, uri, trace.getStatements(), trace.getTotalMillis(), repeated.size(), repeatedSummary);
+    }
+
+    /**
+     * Route template such as /api/animals/{id}, so ids do not explode the tag cardinality
+     */
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.metrics;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * datasource-proxy listener that feeds every executed statement, from
+ * Hibernate or JdbcTemplate alike, into the current request trace. Logs
+ * slow statements immediately, and every statement with its timing at DEBUG
+ * in place of spring.jpa.show-sql.
+ */
+@Component
+public class SqlTracingListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTracingListener.class);
+
+    private final RequestSqlTracer requestSqlTracer;
+    private final long slowQueryMillis;
+
+    public SqlTracingListener(RequestSqlTracer requestSqlTracer,
+            @Value("${sql.trace.slow-query-ms:200}") long slowQueryMillis) {
+        this.requestSqlTracer = requestSqlTracer;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        // A JDBC batch is one round trip; attribute its time to the first statement
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+
+        requestSqlTracer.record(sql, elapsed);
+
+        if (elapsed >= slowQueryMillis) {
+            log.warn("slow-query elapsedMs={} batch={} batchSize={} success={} sql=\"{}\"",
+                    elapsed, execInfo.isBatch(), execInfo.getBatchSize(), execInfo.isSuccess(), sql);
+        } else if (log.isDebugEnabled()) {
+            log.debug("sql elapsedMs={} batch={} sql=\"{}\"", elapsed, execInfo.isBatch(), sql);
+        }
+    }
+}
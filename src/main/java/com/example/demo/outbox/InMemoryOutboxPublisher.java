@@ -0,0 +1,37 @@
+package com.example.demo.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps published messages in memory until drained. Meant for tests and
+ * local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final Queue<OutboxMessage> messages = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        messages.addAll(batch);
+    }
+
+    /**
+     * Remove and return every message published so far
+     */
+    public List<OutboxMessage> drain() {
+        List<OutboxMessage> drained = new ArrayList<>();
+        OutboxMessage message;
+        while ((message = messages.poll()) != null) {
+            drained.add(message);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes each message to the application log. Default publisher.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxPublisher.class);
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("outbox id={} resource={} resourceId={} animalId={} userId={} change={}",
+                    message.id(), message.resource(), message.resourceId(), message.animalId(), message.userId(),
+                    message.change());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.outbox;
+
+import java.time.Instant;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+
+/**
+ * One outbox row handed to the publishers. Delivery is at least once: the id
+ * is unique and increasing per change, so consumers can use it to drop
+ * duplicates.
+ *
+ * @param id         Outbox id
+ * @param resource   Kind of resource that changed
+ * @param resourceId Resource id
+ * @param animalId   Animal the resource belongs to
+ * @param userId     Owner
+ * @param change     What happened
+ * @param payload    The EntityChangedEvent as JSON, including the resource after the change
+ * @param createdAt  Time the change was committed
+ */
+public record OutboxMessage(
+        Long id,
+        ResourceType resource,
+        Long resourceId,
+        Long animalId,
+        Long userId,
+        ChangeType change,
+        String payload,
+        Instant createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.example.demo.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of outbox messages. Every OutboxPublisher bean receives each
+ * batch; the built-in ones are selected with the outbox.publisher property.
+ * A batch is only removed from the outbox once every publisher returned, so
+ * an exception makes the relay retry it.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,122 @@
+package com.example.demo.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves outbox rows to the publishers. Each batch is claimed with
+ * FOR UPDATE SKIP LOCKED, published and deleted in one transaction, so several
+ * nodes can relay at once without waiting on each other or on the requests
+ * inserting new rows. A batch whose publishing fails is rolled back and
+ * retried on the next poll: delivery is at least once, in id order per node.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM_SQL = "SELECT id, resource_type, resource_id, animal_id, user_id, "
+            + "change_type, payload, created_at FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id IN (:ids)";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            ResourceType.valueOf(rs.getString("resource_type")),
+            rs.getObject("resource_id", Long.class),
+            rs.getObject("animal_id", Long.class),
+            rs.getLong("user_id"),
+            ChangeType.valueOf(rs.getString("change_type")),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxPublisher> publishers;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Counter published;
+    private final Counter failed;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager, List<OutboxPublisher> publishers,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishers = publishers;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.published = meterRegistry.counter("outbox.messages.published");
+        this.failed = meterRegistry.counter("outbox.messages.failed");
+    }
+
+    /**
+     * Relay full batches back to back until the outbox is drained or the per
+     * poll limit is reached, then wait for the next poll
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                log.warn("outbox.relay.failed batchSize={}", batchSize, e);
+                return;
+            }
+            if (relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                for (OutboxPublisher publisher : publishers) {
+                    publisher.publish(batch);
+                }
+            } catch (Exception e) {
+                failed.increment(batch.size());
+                throw new IllegalStateException("Could not publish " + batch.size() + " outbox messages", e);
+            }
+
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                ids.add(message.id());
+            }
+            namedJdbcTemplate.update(DELETE_SQL, Map.of("ids", ids));
+            published.increment(batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.events.EntityChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records every EntityChangedEvent in the outbox table inside the transaction
+ * that produced it, so the change and its message commit or roll back
+ * together. A failure here rolls back the service write.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+            + "(resource_type, resource_id, animal_id, user_id, change_type, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        write(List.of(event));
+    }
+
+    /**
+     * Record changes made without publishing an event, such as the rows of a
+     * bulk import, as one JDBC batch. Must run inside the transaction that
+     * made them.
+     */
+    public void write(List<EntityChangedEvent> events) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (EntityChangedEvent event : events) {
+            args.add(new Object[] {
+                    event.resource().name(),
+                    event.id(),
+                    event.animalId(),
+                    event.userId(),
+                    event.change().name(),
+                    toJson(event),
+                    createdAt });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private String toJson(EntityChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.eventName() + " " + event.id(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.reminders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps published reminders in memory until drained. Meant for tests and
+ * local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sink", havingValue = "memory")
+public class InMemoryReminderSink implements ReminderSink {
+
+    private final Queue<VaccineReminder> reminders = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(VaccineReminder reminder) {
+        reminders.add(reminder);
+    }
+
+    /**
+     * Remove and return every reminder published so far
+     */
+    public List<VaccineReminder> drain() {
+        List<VaccineReminder> drained = new ArrayList<>();
+        VaccineReminder reminder;
+        while ((reminder = reminders.poll()) != null) {
+            drained.add(reminder);
+        }
+        return drained;
+    }
+}
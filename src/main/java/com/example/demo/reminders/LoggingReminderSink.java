@@ -0,0 +1,26 @@
+package com.example.demo.reminders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes each reminder to the application log. Default sink.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void publish(VaccineReminder reminder) {
+        for (VaccineReminder.Item item : reminder.vaccines()) {
+            log.info("vaccine-reminder userId={} animalId={} animal=\"{}\" vaccineId={} vaccine=\"{}\" "
+                    + "expirationDate={} daysUntilExpiration={}",
+                    reminder.userId(), item.animalId(), item.animalName(), item.vaccineId(), item.vaccineName(),
+                    item.expirationDate(), item.daysUntilExpiration());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.reminders;
+
+/**
+ * Destination of vaccine reminders. Exactly one implementation is active,
+ * selected with the reminders.sink property.
+ */
+public interface ReminderSink {
+
+    void publish(VaccineReminder reminder);
+}
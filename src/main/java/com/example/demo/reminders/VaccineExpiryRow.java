@@ -0,0 +1,16 @@
+package com.example.demo.reminders;
+
+import java.time.LocalDate;
+
+/**
+ * One pending vaccine read by the reminder scan, projected straight from the
+ * query so no entities are kept in the persistence context
+ */
+public record VaccineExpiryRow(
+        Long vaccineId,
+        String vaccineName,
+        LocalDate expirationDate,
+        Long animalId,
+        String animalName,
+        Long userId) {
+}
@@ -0,0 +1,26 @@
+package com.example.demo.reminders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * All the vaccines of one user that reached a reminder window, sent as a
+ * single notification
+ *
+ * @param userId   Owner of the animals
+ * @param vaccines Vaccines about to expire
+ */
+public record VaccineReminder(Long userId, List<Item> vaccines) {
+
+    /**
+     * @param daysUntilExpiration Reminder window the vaccine fell into
+     */
+    public record Item(
+            Long vaccineId,
+            String vaccineName,
+            Long animalId,
+            String animalName,
+            LocalDate expirationDate,
+            int daysUntilExpiration) {
+    }
+}
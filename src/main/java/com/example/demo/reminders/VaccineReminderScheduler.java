@@ -0,0 +1,27 @@
+package com.example.demo.reminders;
+
+import java.time.LocalDate;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the vaccine reminder scan once a day. Every instance runs it, so
+ * enable it on a single node when the API is scaled out.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class VaccineReminderScheduler {
+
+    private final VaccineReminderService vaccineReminderService;
+
+    public VaccineReminderScheduler(VaccineReminderService vaccineReminderService) {
+        this.vaccineReminderService = vaccineReminderService;
+    }
+
+    @Scheduled(cron = "${reminders.cron:0 0 8 * * *}")
+    public void sendDailyReminders() {
+        vaccineReminderService.sendReminders(LocalDate.now());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.reminders;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.repositories.VaccineRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Finds pending vaccines that expire exactly N days from today, for each
+ * configured window N, and publishes one reminder per user.
+ *
+ * The scan walks the expiration_date index in keyset-paged batches, so a run
+ * never holds more than one batch of rows plus the per-user buffer. The buffer
+ * is flushed whenever it reaches reminders.max-buffered-rows; a user with
+ * vaccines on both sides of a flush gets two reminders instead of unbounded
+ * memory use.
+ */
+@Service
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class VaccineReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(VaccineReminderService.class);
+
+    private final VaccineRepository vaccineRepository;
+    private final ReminderSink reminderSink;
+    private final List<Integer> windowDays;
+    private final int batchSize;
+    private final int maxBufferedRows;
+
+    public VaccineReminderService(VaccineRepository vaccineRepository, ReminderSink reminderSink,
+            @Value("${reminders.windows:30,7,1}") List<Integer> windowDays,
+            @Value("${reminders.batch-size:1000}") int batchSize,
+            @Value("${reminders.max-buffered-rows:10000}") int maxBufferedRows) {
+        this.vaccineRepository = vaccineRepository;
+        this.reminderSink = reminderSink;
+        this.windowDays = List.copyOf(new TreeSet<>(windowDays));
+        this.batchSize = batchSize;
+        this.maxBufferedRows = maxBufferedRows;
+    }
+
+    /**
+     * Publish reminders for the vaccines reaching a window on the given day
+     *
+     * @param today Reference date
+     * @return Number of reminders published
+     */
+    public int sendReminders(LocalDate today) {
+        if (windowDays.isEmpty()) {
+            return 0;
+        }
+        List<LocalDate> dates = windowDays.stream().map(today::plusDays).toList();
+
+        Map<Long, List<VaccineReminder.Item>> buffer = new HashMap<>();
+        int bufferedRows = 0;
+        int scannedRows = 0;
+        int published = 0;
+
+        // Cursor starts before every target date
+        LocalDate afterDate = today;
+        Long afterId = 0L;
+        List<VaccineExpiryRow> batch;
+
+        do {
+            batch = vaccineRepository.findPendingExpiringOn(dates, afterDate, afterId, Limit.of(batchSize));
+
+            for (VaccineExpiryRow row : batch) {
+                buffer.computeIfAbsent(row.userId(), userId -> new ArrayList<>()).add(toItem(row, today));
+            }
+            bufferedRows += batch.size();
+            scannedRows += batch.size();
+
+            if (!batch.isEmpty()) {
+                VaccineExpiryRow last = batch.get(batch.size() - 1);
+                afterDate = last.expirationDate();
+                afterId = last.vaccineId();
+            }
+
+            if (bufferedRows >= maxBufferedRows) {
+                published += flush(buffer);
+                bufferedRows = 0;
+            }
+        } while (batch.size() == batchSize);
+
+        published += flush(buffer);
+
+        log.info("vaccine-reminders date={} windows={} vaccines={} reminders={}",
+                today, windowDays, scannedRows, published);
+        return published;
+    }
+
+    private int flush(Map<Long, List<VaccineReminder.Item>> buffer) {
+        int published = 0;
+        for (Map.Entry<Long, List<VaccineReminder.Item>> entry : buffer.entrySet()) {
+            try {
+                reminderSink.publish(new VaccineReminder(entry.getKey(), entry.getValue()));
+                published++;
+            } catch (RuntimeException e) {
+                // One failing user must not stop the others
+                log.warn("vaccine-reminder-failed userId={} error=\"{}\"", entry.getKey(), e.getMessage());
+            }
+        }
+        buffer.clear();
+        return published;
+    }
+
+    private static VaccineReminder.Item toItem(VaccineExpiryRow row, LocalDate today) {
+        return new VaccineReminder.Item(
+                row.vaccineId(),
+                row.vaccineName(),
+                row.animalId(),
+                row.animalName(),
+                row.expirationDate(),
+                (int) ChronoUnit.DAYS.between(today, row.expirationDate()));
+    }
+}
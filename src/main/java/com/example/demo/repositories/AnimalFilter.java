@@ -0,0 +1,39 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+
+import com.example.demo.enums.AnimalType;
+
+/**
+ * Optional restrictions for animal queries built at runtime. Null components
+ * are ignored; the owner is always required.
+ *
+ * @param userId            Owner of the animals
+ * @param animalId          Single animal to return
+ * @param name              Case-insensitive substring of the name
+ * @param animalType        Concrete animal type
+ * @param startDate         Lower bound of the birth date
+ * @param endDate           Upper bound of the birth date
+ * @param pendingVaccinesOn Only animals with a vaccine pending on this date
+ */
+public record AnimalFilter(
+        Long userId,
+        Long animalId,
+        String name,
+        AnimalType animalType,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate pendingVaccinesOn) {
+
+    public static AnimalFilter byUser(Long userId) {
+        return new AnimalFilter(userId, null, null, null, null, null, null);
+    }
+
+    public static AnimalFilter byId(Long animalId, Long userId) {
+        return new AnimalFilter(userId, animalId, null, null, null, null, null);
+    }
+
+    public static AnimalFilter withPendingVaccines(Long userId, LocalDate date) {
+        return new AnimalFilter(userId, null, null, null, null, null, date);
+    }
+}
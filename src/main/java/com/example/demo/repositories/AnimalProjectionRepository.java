@@ -0,0 +1,163 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.dto.AnimalField;
+import com.example.demo.dto.AnimalProjectionDTO;
+import com.example.demo.dto.AnimalTypeMappers;
+import com.example.demo.dto.UserDTO;
+import com.example.demo.entities.Animal;
+import com.example.demo.entities.User;
+import com.example.demo.entities.Vaccine;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Builds animal queries that select only the columns behind the requested
+ * {@link AnimalField}s. The owner is joined only when requested, and the whole
+ * row is read only when the type-specific fields are needed. Health issues are
+ * not fetched here.
+ */
+@Repository
+public class AnimalProjectionRepository {
+
+    private static final String ENTITY_ALIAS = "animal";
+
+    private final EntityManager entityManager;
+
+    public AnimalProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Find the requested fields of the animals matching the filter
+     *
+     * @param filter   Query restrictions
+     * @param fields   Fields to select
+     * @param pageable Pagination and sorting, or {@link Pageable#unpaged()}
+     * @return Page of sparse animals
+     */
+    public Page<AnimalProjectionDTO> findProjections(AnimalFilter filter, Set<AnimalField> fields,
+            Pageable pageable) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Animal> animal = query.from(Animal.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (AnimalField field : fields) {
+            if (field.getAttribute() != null) {
+                selections.add(animal.get(field.getAttribute()).alias(field.getJsonName()));
+            }
+        }
+        if (fields.contains(AnimalField.SPECIFIC_FIELDS)) {
+            // Single table: the subclass columns live in the same row
+            selections.add(animal.alias(ENTITY_ALIAS));
+        }
+        if (fields.contains(AnimalField.OWNER)) {
+            Join<Animal, User> user = animal.join("user");
+            selections.add(user.get("id").alias("ownerId"));
+            selections.add(user.get("name").alias("ownerName"));
+            selections.add(user.get("surname").alias("ownerSurname"));
+            selections.add(user.get("email").alias("ownerEmail"));
+        }
+
+        query.multiselect(selections)
+                .where(predicates(cb, query, animal, filter))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), animal, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<AnimalProjectionDTO> content = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            content.add(toProjection(tuple, fields));
+        }
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    private long count(AnimalFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Animal> animal = query.from(Animal.class);
+        query.select(cb.count(animal)).where(predicates(cb, query, animal, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, AbstractQuery<?> query, Root<Animal> animal,
+            AnimalFilter filter) {
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(animal.get("user").get("id"), filter.userId()));
+
+        if (filter.animalId() != null) {
+            predicates.add(cb.equal(animal.get("id"), filter.animalId()));
+        }
+        if (filter.name() != null) {
+            predicates.add(cb.like(cb.lower(animal.<String>get("name")), "%" + filter.name().toLowerCase() + "%"));
+        }
+        if (filter.animalType() != null) {
+            predicates.add(cb.equal(animal.get("animalType"), filter.animalType()));
+        }
+        if (filter.startDate() != null && filter.endDate() != null) {
+            predicates.add(cb.between(animal.<LocalDate>get("birthDate"), filter.startDate(), filter.endDate()));
+        }
+        if (filter.pendingVaccinesOn() != null) {
+            Subquery<Long> pending = query.subquery(Long.class);
+            Root<Vaccine> vaccine = pending.from(Vaccine.class);
+            pending.select(vaccine.get("id")).where(
+                    cb.equal(vaccine.get("animal"), animal),
+                    cb.isNull(vaccine.get("applicationDate")),
+                    cb.greaterThanOrEqualTo(vaccine.<LocalDate>get("expirationDate"), filter.pendingVaccinesOn()));
+            predicates.add(cb.exists(pending));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static AnimalProjectionDTO toProjection(Tuple tuple, Set<AnimalField> fields) {
+        AnimalProjectionDTO dto = new AnimalProjectionDTO(fields);
+
+        for (AnimalField field : fields) {
+            if (field.getAttribute() != null) {
+                dto.set(field, tuple.get(field.getJsonName()));
+            }
+        }
+        if (fields.contains(AnimalField.SPECIFIC_FIELDS)) {
+            Animal entity = tuple.get(ENTITY_ALIAS, Animal.class);
+            dto.set(AnimalField.SPECIFIC_FIELDS, AnimalTypeMappers.specificFields(entity.getAnimalType(), entity));
+        }
+        if (fields.contains(AnimalField.OWNER)) {
+            dto.set(AnimalField.OWNER, new UserDTO(
+                    tuple.get("ownerId", Long.class),
+                    tuple.get("ownerName", String.class),
+                    tuple.get("ownerSurname", String.class),
+                    tuple.get("ownerEmail", String.class)));
+        }
+
+        return dto;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.demo.repositories;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +13,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dashboard.AnimalTypeCount;
+import com.example.demo.dashboard.RecentAnimal;
 import com.example.demo.entities.Animal;
+import com.example.demo.measurements.OwnedAnimal;
+import com.example.demo.search.NameRow;
+import com.example.demo.search.SearchRow;
 
 @Repository
 public interface AnimalRepository extends JpaRepository<Animal, Long> {
@@ -74,5 +81,72 @@ public interface AnimalRepository extends JpaRepository<Animal, Long> {
 
         Optional<Animal> findByIdAndUserId(Long id, Long userId);
 
+        List<Animal> findByIdInAndUserId(Collection<Long> ids, Long userId);
+
+        @Query("SELECT new com.example.demo.measurements.OwnedAnimal(a.id, a.animalType) FROM Animal a " +
+                        "WHERE a.id IN :ids AND a.user.id = :userId")
+        List<OwnedAnimal> findOwnedByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+        /**
+         * Fetch plan for FULL detail: the animal with its owner and health issues in one query
+         */
+        @Query("SELECT a FROM Animal a JOIN FETCH a.user LEFT JOIN FETCH a.healthIssues " +
+                        "WHERE a.id = :id AND a.user.id = :userId")
+        Optional<Animal> findWithDetailsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+        /**
+         * Fetch plan for FULL detail pages: loads owner and health issues for
+         * animals already in the persistence context, initializing their lazy
+         * associations in one query instead of one per animal
+         */
+        @Query("SELECT DISTINCT a FROM Animal a JOIN FETCH a.user LEFT JOIN FETCH a.healthIssues " +
+                        "WHERE a.id IN :ids")
+        List<Animal> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
         boolean existsByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+
+        @Query("SELECT new com.example.demo.dashboard.AnimalTypeCount(a.animalType, COUNT(a)) " +
+                        "FROM Animal a WHERE a.user.id = :userId GROUP BY a.animalType")
+        List<AnimalTypeCount> countByAnimalType(@Param("userId") Long userId);
+
+        @Query("SELECT new com.example.demo.dashboard.RecentAnimal(a.id, a.name, a.animalType, a.registrationDate) " +
+                        "FROM Animal a WHERE a.user.id = :userId " +
+                        "ORDER BY a.registrationDate DESC, a.id DESC")
+        List<RecentAnimal> findRecentByUserId(@Param("userId") Long userId, Limit limit);
+
+        @Query("SELECT new com.example.demo.search.SearchRow(a.id, a.id, a.user.id, a.name, " +
+                        "CONCAT(COALESCE(a.notes, ''), ' ', COALESCE(a.diet, ''))) " +
+                        "FROM Animal a WHERE a.id > :afterId ORDER BY a.id")
+        List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+        @Query("SELECT new com.example.demo.search.SearchRow(a.id, a.id, a.user.id, a.name, " +
+                        "CONCAT(COALESCE(a.notes, ''), ' ', COALESCE(a.diet, ''))) " +
+                        "FROM Animal a WHERE a.user.id = :userId AND a.id > :afterId ORDER BY a.id")
+        List<SearchRow> findSearchRowsByUserId(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                        Limit limit);
+
+        @Query("SELECT new com.example.demo.search.NameRow(a.id, a.id, a.name) FROM Animal a WHERE a.user.id = :userId")
+        List<NameRow> findNameRowsByUserId(@Param("userId") Long userId);
+
+        Page<Animal> findByUserIdAndIdIn(Long userId, Collection<Long> ids, Pageable pageable);
+
+        @Query("SELECT a FROM Animal a WHERE a.user.id = :userId AND a.id IN :ids AND a.class = :animalType")
+        Page<Animal> findByUserIdAndIdInAndAnimalType(
+                        @Param("userId") Long userId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("animalType") String animalType,
+                        Pageable pageable);
+
+        Page<Animal> findByUserIdAndIdInAndBirthDateBetween(Long userId, Collection<Long> ids, LocalDate startDate,
+                        LocalDate endDate, Pageable pageable);
+
+        @Query("SELECT a FROM Animal a WHERE a.user.id = :userId AND a.id IN :ids AND a.class = :animalType " +
+                        "AND a.birthDate BETWEEN :startDate AND :endDate")
+        Page<Animal> findByUserIdAndIdInAndAnimalTypeAndBirthDateBetween(
+                        @Param("userId") Long userId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("animalType") String animalType,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        Pageable pageable);
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entities.AuditLogEntry;
+import com.example.demo.enums.ResourceType;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLogEntry, Long> {
+        Page<AuditLogEntry> findByAnimalId(Long animalId, Pageable pageable);
+
+        Page<AuditLogEntry> findByAnimalIdAndResourceType(Long animalId, ResourceType resourceType,
+                        Pageable pageable);
+}
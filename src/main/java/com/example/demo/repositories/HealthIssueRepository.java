@@ -1,5 +1,6 @@
 package com.example.demo.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,9 +8,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dashboard.OpenHealthIssues;
+import com.example.demo.dto.HealthIssueDTO;
 import com.example.demo.entities.HealthIssue;
+import com.example.demo.search.NameRow;
+import com.example.demo.search.SearchRow;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,4 +61,30 @@ public interface HealthIssueRepository extends JpaRepository<HealthIssue, Long>
         @Query("SELECT h FROM HealthIssue h WHERE h.id = :healthIssueId AND h.animal.user.id = :userId")
         Optional<HealthIssue> findByIdAndUserId(@Param("healthIssueId") Long healthIssueId,
                         @Param("userId") Long userId);
+
+        @Query("SELECT new com.example.demo.dto.HealthIssueDTO(h.id, h.name, h.diagnosisDate, h.recoveryDate, " +
+                        "h.description, h.treatment, h.animal.id, h.version) " +
+                        "FROM HealthIssue h WHERE h.animal.id IN :animalIds")
+        List<HealthIssueDTO> findDTOsByAnimalIdIn(@Param("animalIds") Collection<Long> animalIds);
+
+        @Query("SELECT new com.example.demo.dashboard.OpenHealthIssues(a.id, a.name, COUNT(h), MIN(h.diagnosisDate)) " +
+                        "FROM HealthIssue h JOIN h.animal a " +
+                        "WHERE a.user.id = :userId AND h.recoveryDate IS NULL " +
+                        "GROUP BY a.id, a.name " +
+                        "ORDER BY COUNT(h) DESC, a.name")
+        List<OpenHealthIssues> countOpenByUserIdGroupByAnimal(@Param("userId") Long userId);
+
+        @Query("SELECT new com.example.demo.search.SearchRow(h.id, a.id, a.user.id, h.name, " +
+                        "CONCAT(COALESCE(h.description, ''), ' ', COALESCE(h.treatment, ''))) " +
+                        "FROM HealthIssue h JOIN h.animal a WHERE h.id > :afterId ORDER BY h.id")
+        List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+        @Query("SELECT new com.example.demo.search.NameRow(h.id, a.id, h.name) " +
+                        "FROM HealthIssue h JOIN h.animal a WHERE a.user.id = :userId")
+        List<NameRow> findNameRowsByUserId(@Param("userId") Long userId);
+
+        Page<HealthIssue> findByAnimalIdAndIdIn(Long animalId, Collection<Long> ids, Pageable pageable);
+
+        Page<HealthIssue> findByAnimalIdAndIdInAndDiagnosisDateBetween(Long animalId, Collection<Long> ids,
+                        LocalDate startDate, LocalDate endDate, Pageable pageable);
 }
@@ -1,8 +1,11 @@
 package com.example.demo.repositories;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,8 +13,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dashboard.UpcomingVaccine;
+import com.example.demo.dashboard.VaccineExpirationSummary;
+import com.example.demo.dto.VaccineDTO;
 import com.example.demo.entities.Animal;
 import com.example.demo.entities.Vaccine;
+import com.example.demo.reminders.VaccineExpiryRow;
+import com.example.demo.search.SearchRow;
 
 @Repository
 public interface VaccineRepository extends JpaRepository<Vaccine, Long> {
@@ -79,4 +87,56 @@ public interface VaccineRepository extends JpaRepository<Vaccine, Long> {
                         @Param("userId") Long userId,
                         @Param("currentDate") LocalDate currentDate,
                         Pageable pageable);
+
+        /**
+         * Keyset page of pending vaccines expiring on any of the given dates,
+         * ordered by (expiration date, id) and starting after the given cursor.
+         * Walks the expiration_date index without an OFFSET.
+         */
+        @Query("SELECT new com.example.demo.reminders.VaccineExpiryRow(" +
+                        "v.id, v.name, v.expirationDate, a.id, a.name, a.user.id) " +
+                        "FROM Vaccine v JOIN v.animal a " +
+                        "WHERE v.applicationDate IS NULL " +
+                        "AND v.expirationDate IN :dates " +
+                        "AND (v.expirationDate > :afterDate OR (v.expirationDate = :afterDate AND v.id > :afterId)) " +
+                        "ORDER BY v.expirationDate, v.id")
+        List<VaccineExpiryRow> findPendingExpiringOn(
+                        @Param("dates") Collection<LocalDate> dates,
+                        @Param("afterDate") LocalDate afterDate,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+        @Query("SELECT new com.example.demo.dto.VaccineDTO(v.id, v.name, v.applicationDate, v.expirationDate, " +
+                        "v.description, v.animal.id, v.version) " +
+                        "FROM Vaccine v WHERE v.animal.id IN :animalIds " +
+                        "ORDER BY v.animal.id, v.id")
+        List<VaccineDTO> findDTOsByAnimalIdIn(@Param("animalIds") Collection<Long> animalIds);
+
+        @Query("SELECT new com.example.demo.dashboard.VaccineExpirationSummary(" +
+                        "SUM(CASE WHEN v.expirationDate < :today THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN v.expirationDate BETWEEN :today AND :until THEN 1 ELSE 0 END)) " +
+                        "FROM Vaccine v JOIN v.animal a " +
+                        "WHERE a.user.id = :userId " +
+                        "AND v.applicationDate IS NULL " +
+                        "AND v.expirationDate IS NOT NULL")
+        VaccineExpirationSummary summarizePendingByUserId(
+                        @Param("userId") Long userId,
+                        @Param("today") LocalDate today,
+                        @Param("until") LocalDate until);
+
+        @Query("SELECT new com.example.demo.dashboard.UpcomingVaccine(v.id, v.name, v.expirationDate, a.id, a.name) " +
+                        "FROM Vaccine v JOIN v.animal a " +
+                        "WHERE a.user.id = :userId " +
+                        "AND v.applicationDate IS NULL " +
+                        "AND v.expirationDate BETWEEN :today AND :until " +
+                        "ORDER BY v.expirationDate, v.id")
+        List<UpcomingVaccine> findUpcomingByUserId(
+                        @Param("userId") Long userId,
+                        @Param("today") LocalDate today,
+                        @Param("until") LocalDate until,
+                        Limit limit);
+
+        @Query("SELECT new com.example.demo.search.SearchRow(v.id, a.id, a.user.id, v.name, COALESCE(v.description, '')) " +
+                        "FROM Vaccine v JOIN v.animal a WHERE v.id > :afterId ORDER BY v.id")
+        List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
 }
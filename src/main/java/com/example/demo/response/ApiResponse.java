@@ -0,0 +1,32 @@
+package com.example.demo.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Standard response envelope for every API endpoint.
+ * Property order matches the HashMap-based responses it replaces, so the
+ * serialized JSON is unchanged.
+ *
+ * @param <T> Type of the response payload
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "data", "success", "message", "errors" })
+public record ApiResponse<T>(T data, boolean success, String message, Object errors) {
+
+    public static <T> ApiResponse<T> success(T data, String message) {
+        return new ApiResponse<>(data, true, message, null);
+    }
+
+    public static <T> ApiResponse<T> success(String message) {
+        return new ApiResponse<>(null, true, message, null);
+    }
+
+    public static <T> ApiResponse<T> error(String message) {
+        return new ApiResponse<>(null, false, message, null);
+    }
+
+    public static <T> ApiResponse<T> error(String message, Object errors) {
+        return new ApiResponse<>(null, false, message, errors);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Response body of the login endpoint, which exposes the token at the top level
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "success", "name", "message", "token" })
+public record AuthResponse(boolean success, String name, String message, String token) {
+
+    public static AuthResponse loggedIn(String name, String token, String message) {
+        return new AuthResponse(true, name, message, token);
+    }
+}
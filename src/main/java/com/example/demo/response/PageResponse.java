@@ -0,0 +1,64 @@
+package com.example.demo.response;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Page;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * One page of results plus pagination metadata.
+ * The items are written under a resource-specific key ("animals", "vaccines", ...).
+ *
+ * @param <T> Type of the page items
+ */
+@JsonSerialize(using = PageResponse.Serializer.class)
+public record PageResponse<T>(String itemsKey, List<T> items, int currentPage, long totalItems, int totalPages) {
+
+    public static <T> PageResponse<T> of(String itemsKey, Page<?> page, List<T> items) {
+        return new PageResponse<>(itemsKey, items, page.getNumber(), page.getTotalElements(), page.getTotalPages());
+    }
+
+    /**
+     * Writes the page without going through a Map. Field order reproduces the
+     * iteration order of the HashMap the services used to return, so clients
+     * receive byte-identical JSON.
+     */
+    public static class Serializer extends JsonSerializer<PageResponse<?>> {
+
+        private static final Map<String, String[]> FIELD_ORDER = new ConcurrentHashMap<>();
+
+        @Override
+        public void serialize(PageResponse<?> page, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject();
+            for (String field : fieldOrder(page.itemsKey())) {
+                switch (field) {
+                    case "currentPage" -> gen.writeNumberField(field, page.currentPage());
+                    case "totalItems" -> gen.writeNumberField(field, page.totalItems());
+                    case "totalPages" -> gen.writeNumberField(field, page.totalPages());
+                    default -> provider.defaultSerializeField(field, page.items(), gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private static String[] fieldOrder(String itemsKey) {
+            return FIELD_ORDER.computeIfAbsent(itemsKey, key -> {
+                Map<String, Object> legacy = new HashMap<>();
+                legacy.put(key, null);
+                legacy.put("currentPage", null);
+                legacy.put("totalItems", null);
+                legacy.put("totalPages", null);
+                return legacy.keySet().toArray(new String[0]);
+            });
+        }
+    }
+}
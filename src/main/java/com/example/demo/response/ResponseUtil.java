@@ -1,28 +1,23 @@
 package com.example.demo.response;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 public class ResponseUtil {
     
-    public static <T> ResponseEntity<Map<String, Object>> success(T data) {
+    public static <T> ResponseEntity<ApiResponse<T>> success(T data) {
         return success(data, "Operation completed successfully");
     }
     
-    public static <T> ResponseEntity<Map<String, Object>> success(T data, String message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", message);
-        if (data != null) {
-            response.put("data", data);
-        }
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public static <T> ResponseEntity<ApiResponse<T>> success(T data, String message) {
+        return new ResponseEntity<>(ApiResponse.success(data, message), HttpStatus.OK);
     }
 
-    public static ResponseEntity<Map<String, Object>> success(String message) {
+    public static ResponseEntity<ApiResponse<Void>> success(String message) {
         return success(null, message);
     }
-}
\ No newline at end of file
+
+    public static <T> ResponseEntity<ApiResponse<T>> error(String message, HttpStatus status) {
+        return new ResponseEntity<>(ApiResponse.error(message), status);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.search;
+
+/**
+ * Name of an animal or health issue loaded into {@link NameSearchIndex}
+ *
+ * @param id       Animal or health issue id
+ * @param animalId Animal it belongs to (the animal itself for animals)
+ * @param name     Name as stored
+ */
+public record NameRow(Long id, Long animalId, String name) {
+}
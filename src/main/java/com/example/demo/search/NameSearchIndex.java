@@ -0,0 +1,192 @@
+package com.example.demo.search;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.cluster.CacheInvalidation;
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.HealthIssueRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-user trigram indexes over animal and health issue names, used to answer
+ * the name filters with primary key lookups instead of a leading-wildcard LIKE.
+ * <p>
+ * A user's index is loaded with two projection queries on their first name
+ * search, kept current from committed changes, dropped when another node
+ * changes the user's data, and evicted when the cache exceeds
+ * search.names.max-users (Caffeine's size-based policy, which approximates LRU
+ * with frequency information).
+ * <p>
+ * Invalidations from other nodes are best effort, so a user's index is also
+ * reloaded search.names.ttl-seconds after it was loaded. Applying local
+ * changes does not extend that, or a busy user would never pick up a remote
+ * change whose invalidation was lost.
+ */
+@Component
+public class NameSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NameSearchIndex.class);
+
+    private final AnimalRepository animalRepository;
+    private final HealthIssueRepository healthIssueRepository;
+    private final Cache<Long, UserNames> cache;
+
+    public NameSearchIndex(AnimalRepository animalRepository, HealthIssueRepository healthIssueRepository,
+            MeterRegistry meterRegistry, @Value("${search.names.max-users:1000}") long maxUsers,
+            @Value("${search.names.ttl-seconds:300}") long ttlSeconds) {
+        this.animalRepository = animalRepository;
+        this.healthIssueRepository = healthIssueRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfter(expireAfterLoad(Duration.ofSeconds(ttlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "name-search");
+    }
+
+    /**
+     * Ids of the user's animals whose name contains the text, ascending
+     */
+    public List<Long> findAnimalIds(Long userId, String text) {
+        return toList(cache.get(userId, this::load).animals.search(text));
+    }
+
+    /**
+     * Ids of an animal's health issues whose name contains the text, ascending
+     */
+    public List<Long> findHealthIssueIds(Long userId, Long animalId, String text) {
+        UserNames names = cache.get(userId, this::load);
+        return Arrays.stream(names.healthIssues.search(text))
+                .filter(id -> animalId.equals(names.healthIssueAnimals.get(id)))
+                .boxed()
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        // computeIfPresent waits for a load in progress, so a change committed
+        // while the index is being read from the database is not lost
+        try {
+            cache.asMap().computeIfPresent(event.userId(), (userId, names) -> {
+                names.apply(event);
+                return names;
+            });
+        } catch (RuntimeException e) {
+            log.warn("search.names.update.failed userId={} resource={} id={}", event.userId(), event.resource(),
+                    event.id(), e);
+            cache.invalidate(event.userId());
+        }
+    }
+
+    @EventListener
+    public void onAnimalsImported(AnimalsImportedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onRemoteChange(CacheInvalidation invalidation) {
+        // Remote changes carry no names; the index is reloaded on the next search
+        cache.invalidate(invalidation.userId());
+    }
+
+    private UserNames load(Long userId) {
+        UserNames names = new UserNames();
+        for (NameRow row : animalRepository.findNameRowsByUserId(userId)) {
+            names.animals.put(row.id(), row.name());
+        }
+        for (NameRow row : healthIssueRepository.findNameRowsByUserId(userId)) {
+            names.putHealthIssue(row.id(), row.animalId(), row.name());
+        }
+        return names;
+    }
+
+    private static Expiry<Long, UserNames> expireAfterLoad(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long userId, UserNames names, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Long userId, UserNames names, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(Long userId, UserNames names, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static final class UserNames {
+
+        private final TrigramIndex animals = new TrigramIndex();
+        private final TrigramIndex healthIssues = new TrigramIndex();
+        private final Map<Long, Long> healthIssueAnimals = new ConcurrentHashMap<>();
+
+        private void putHealthIssue(Long id, Long animalId, String name) {
+            healthIssues.put(id, name);
+            healthIssueAnimals.put(id, animalId);
+        }
+
+        private void removeHealthIssue(Long id) {
+            healthIssues.remove(id);
+            healthIssueAnimals.remove(id);
+        }
+
+        private void apply(EntityChangedEvent event) {
+            switch (event.resource()) {
+                case ANIMAL -> {
+                    if (event.change() == ChangeType.DELETED) {
+                        animals.remove(event.id());
+                        // Health issues are deleted with their animal by cascade
+                        healthIssueAnimals.entrySet().stream()
+                                .filter(entry -> entry.getValue().equals(event.id()))
+                                .map(Map.Entry::getKey)
+                                .toList()
+                                .forEach(this::removeHealthIssue);
+                    } else {
+                        animals.put(event.id(), ((AnimalDTO) event.data()).getName());
+                    }
+                }
+                case HEALTH_ISSUE -> {
+                    if (event.change() == ChangeType.DELETED) {
+                        removeHealthIssue(event.id());
+                    } else {
+                        putHealthIssue(event.id(), event.animalId(), ((HealthIssueDTO) event.data()).getName());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.search;
+
+import com.example.demo.enums.ResourceType;
+
+public record SearchHit(
+        ResourceType resource,
+        Long id,
+        Long animalId,
+        String title,
+        float score) {
+}
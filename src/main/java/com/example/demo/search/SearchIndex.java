@@ -0,0 +1,244 @@
+package com.example.demo.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.enums.ResourceType;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process Lucene index of the searchable text of animals, vaccines and
+ * health issues. Documents are keyed by resource type and id and carry their
+ * owner, so every query is filtered to one user without touching MySQL.
+ * <p>
+ * The index is derived data: it is recreated empty on startup and filled by
+ * {@link SearchIndexer}. It lives in memory unless search.index.path is set, in
+ * which case it is memory-mapped from that directory.
+ */
+@Component
+public class SearchIndex {
+
+    static final String KEY = "key";
+    static final String RESOURCE = "resource";
+    static final String ID = "id";
+    static final String ANIMAL_ID = "animalId";
+    static final String USER_ID = "userId";
+    static final String TITLE = "title";
+    static final String BODY = "body";
+    static final String GENERATION = "generation";
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Stamped on every document written, so a rebuild can find the ones it did not rewrite
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchIndex(@Value("${search.index.path:}") String indexPath) throws IOException {
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Add or replace the document of one resource
+     */
+    public void upsert(ResourceType resource, SearchRow row) {
+        try {
+            writer.updateDocument(new Term(KEY, key(resource, row.id())), toDocument(resource, row, generation.get()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Add or replace many documents, refreshing the searcher once at the end
+     */
+    public void upsertAll(ResourceType resource, Collection<SearchRow> rows) {
+        for (SearchRow row : rows) {
+            upsert(resource, row);
+        }
+        refresh();
+    }
+
+    public void delete(ResourceType resource, Long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(resource, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete an animal together with its vaccines and health issues, which the
+     * database removes by cascade without events of their own
+     */
+    public void deleteAnimal(Long animalId) {
+        try {
+            writer.deleteDocuments(new Term(ANIMAL_ID, animalId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Start a new generation; documents written from now on are stamped with it
+     *
+     * @return The new generation
+     */
+    public long nextGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * Delete every document that was last written before the given generation
+     * started
+     */
+    public void deleteOlderThan(long generation) {
+        try {
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, generation - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Make the changes written so far visible to searches
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<SearchHit> search(Query query, int limit) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document doc = searcher.storedFields().document(scoreDoc.doc);
+                    hits.add(new SearchHit(
+                            ResourceType.valueOf(doc.get(RESOURCE)),
+                            doc.getField(ID).numericValue().longValue(),
+                            Long.valueOf(doc.get(ANIMAL_ID)),
+                            doc.get(TITLE),
+                            scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Split text into the terms the index holds: lower case, accents removed
+     */
+    public List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    public int documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private static Document toDocument(ResourceType resource, SearchRow row, long generation) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(resource, row.id()), Field.Store.NO));
+        doc.add(new StringField(RESOURCE, resource.name(), Field.Store.YES));
+        doc.add(new StoredField(ID, row.id()));
+        doc.add(new StringField(ANIMAL_ID, row.animalId().toString(), Field.Store.YES));
+        doc.add(new StringField(USER_ID, row.userId().toString(), Field.Store.NO));
+        doc.add(new LongPoint(GENERATION, generation));
+        if (row.title() != null) {
+            doc.add(new TextField(TITLE, row.title(), Field.Store.YES));
+        }
+        if (row.body() != null && !row.body().isBlank()) {
+            doc.add(new TextField(BODY, row.body(), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private static String key(ResourceType resource, Long id) {
+        return resource.name() + ":" + id;
+    }
+
+    /**
+     * StandardAnalyzer without stop words, which are English only, and with
+     * accent folding so "vacunacion" finds "vacunación"
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new ASCIIFoldingFilter(stream);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.demo.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.cluster.CacheInvalidation;
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.dto.VaccineDTO;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.HealthIssueRepository;
+import com.example.demo.repositories.VaccineRepository;
+
+/**
+ * Keeps {@link SearchIndex} in sync with the database. The index is rebuilt
+ * from keyset-paged projections once the application is ready, then follows
+ * the services' committed changes. Changes committed on other nodes only
+ * identify the resource, so its row is read again.
+ * <p>
+ * Those come over a best-effort channel, so the index is also rebuilt every
+ * search.reconcile.interval-ms. A rebuild rewrites every row and then deletes
+ * the documents it did not rewrite, which repairs documents a lost
+ * invalidation left stale or orphaned.
+ * <p>
+ * A bulk load (the rebuild, or reindexing a user's animals after an import)
+ * may read a row before a concurrent change and write it after that change's
+ * event was applied. Changes applied while a load is running are therefore
+ * recorded, and their rows are read again once the last load has finished.
+ */
+@Component
+public class SearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final SearchIndex searchIndex;
+    private final AnimalRepository animalRepository;
+    private final VaccineRepository vaccineRepository;
+    private final HealthIssueRepository healthIssueRepository;
+    private final int batchSize;
+    // Guards the two fields below; events and re-reads also take it so they apply in commit order
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<DocumentKey> changedDuringLoad = new HashSet<>();
+    private int loadsInProgress;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SearchIndexer(SearchIndex searchIndex, AnimalRepository animalRepository,
+            VaccineRepository vaccineRepository, HealthIssueRepository healthIssueRepository,
+            @Value("${search.rebuild.batch-size:1000}") int batchSize) {
+        this.searchIndex = searchIndex;
+        this.animalRepository = animalRepository;
+        this.vaccineRepository = vaccineRepository;
+        this.healthIssueRepository = healthIssueRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        startRebuild();
+    }
+
+    @Scheduled(initialDelayString = "${search.reconcile.interval-ms:3600000}",
+            fixedDelayString = "${search.reconcile.interval-ms:3600000}")
+    public void reconcile() {
+        startRebuild();
+    }
+
+    /**
+     * Index every animal, vaccine and health issue, then delete the documents
+     * of rows that no longer exist
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        long generation = beginLoad();
+        try {
+            long animals = indexAll(ResourceType.ANIMAL,
+                    (afterId, limit) -> animalRepository.findSearchRows(afterId, limit));
+            long vaccines = indexAll(ResourceType.VACCINE,
+                    (afterId, limit) -> vaccineRepository.findSearchRows(afterId, limit));
+            long healthIssues = indexAll(ResourceType.HEALTH_ISSUE,
+                    (afterId, limit) -> healthIssueRepository.findSearchRows(afterId, limit));
+            searchIndex.deleteOlderThan(generation);
+
+            log.info("search.rebuild animals={} vaccines={} healthIssues={} elapsedMs={}",
+                    animals, vaccines, healthIssues, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("search.rebuild failed", e);
+        } finally {
+            endLoad();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent event) {
+        // The change is committed; a failure here must not turn the request into an error
+        lock.lock();
+        try {
+            recordIfLoading(event.resource(), event.id());
+            if (event.change() == ChangeType.DELETED) {
+                if (event.resource() == ResourceType.ANIMAL) {
+                    searchIndex.deleteAnimal(event.id());
+                } else {
+                    searchIndex.delete(event.resource(), event.id());
+                }
+            } else {
+                searchIndex.upsert(event.resource(), toRow(event));
+            }
+            searchIndex.refresh();
+        } catch (RuntimeException e) {
+            log.warn("search.index.failed resource={} id={} change={}", event.resource(), event.id(), event.change(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onAnimalsImported(AnimalsImportedEvent event) {
+        try {
+            indexUserAnimals(event.userId());
+        } catch (RuntimeException e) {
+            log.warn("search.index.failed userId={} importedRows={}", event.userId(), event.importedRows(), e);
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(CacheInvalidation invalidation) {
+        if (invalidation.isUserWide()) {
+            try {
+                indexUserAnimals(invalidation.userId());
+            } catch (RuntimeException e) {
+                log.warn("search.index.failed userId={}", invalidation.userId(), e);
+            }
+            return;
+        }
+
+        lock.lock();
+        try {
+            recordIfLoading(invalidation.resource(), invalidation.id());
+            reindex(invalidation.resource(), invalidation.id());
+            searchIndex.refresh();
+        } catch (RuntimeException e) {
+            log.warn("search.index.failed resource={} id={} change={}", invalidation.resource(), invalidation.id(),
+                    invalidation.change(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Runs off the scheduler thread, which other jobs share; skipped while a rebuild is running
+    private void startRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("search-rebuild").start(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private void indexUserAnimals(Long userId) {
+        beginLoad();
+        try {
+            indexAll(ResourceType.ANIMAL,
+                    (afterId, limit) -> animalRepository.findSearchRowsByUserId(userId, afterId, limit));
+        } finally {
+            endLoad();
+        }
+    }
+
+    /**
+     * @return Generation the documents written by this load are stamped with.
+     *         Started under the lock, so no event can stamp a document with an
+     *         older one after the load began.
+     */
+    private long beginLoad() {
+        lock.lock();
+        try {
+            loadsInProgress++;
+            return searchIndex.nextGeneration();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Once no load is running, read again every row changed during the loads,
+     * which may have overwritten it with an older version
+     */
+    private void endLoad() {
+        lock.lock();
+        try {
+            if (--loadsInProgress > 0) {
+                return;
+            }
+            for (DocumentKey key : changedDuringLoad) {
+                try {
+                    reindex(key.resource(), key.id());
+                } catch (RuntimeException e) {
+                    log.warn("search.index.failed resource={} id={}", key.resource(), key.id(), e);
+                }
+            }
+            changedDuringLoad.clear();
+            searchIndex.refresh();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void recordIfLoading(ResourceType resource, Long id) {
+        if (loadsInProgress > 0) {
+            changedDuringLoad.add(new DocumentKey(resource, id));
+        }
+    }
+
+    /**
+     * Index the current row of a resource, or remove it if it no longer exists.
+     * A missing animal takes its vaccines and health issues with it.
+     */
+    private void reindex(ResourceType resource, Long id) {
+        // The keyset queries return the first row from id on, which is this one if it still exists
+        List<SearchRow> rows = switch (resource) {
+            case ANIMAL -> animalRepository.findSearchRows(id - 1, Limit.of(1));
+            case VACCINE -> vaccineRepository.findSearchRows(id - 1, Limit.of(1));
+            case HEALTH_ISSUE -> healthIssueRepository.findSearchRows(id - 1, Limit.of(1));
+        };
+        if (!rows.isEmpty() && rows.get(0).id().equals(id)) {
+            searchIndex.upsert(resource, rows.get(0));
+        } else if (resource == ResourceType.ANIMAL) {
+            searchIndex.deleteAnimal(id);
+        } else {
+            searchIndex.delete(resource, id);
+        }
+    }
+
+    private long indexAll(ResourceType resource, BiFunction<Long, Limit, List<SearchRow>> query) {
+        long indexed = 0;
+        long afterId = 0;
+        List<SearchRow> rows;
+        do {
+            rows = query.apply(afterId, Limit.of(batchSize));
+            if (!rows.isEmpty()) {
+                searchIndex.upsertAll(resource, rows);
+                afterId = rows.get(rows.size() - 1).id();
+                indexed += rows.size();
+            }
+        } while (rows.size() == batchSize);
+        return indexed;
+    }
+
+    private static SearchRow toRow(EntityChangedEvent event) {
+        return switch (event.resource()) {
+            case ANIMAL -> {
+                AnimalDTO animal = (AnimalDTO) event.data();
+                yield new SearchRow(event.id(), event.animalId(), event.userId(), animal.getName(),
+                        join(animal.getNotes(), animal.getDiet()));
+            }
+            case VACCINE -> {
+                VaccineDTO vaccine = (VaccineDTO) event.data();
+                yield new SearchRow(event.id(), event.animalId(), event.userId(), vaccine.getName(),
+                        vaccine.getDescription());
+            }
+            case HEALTH_ISSUE -> {
+                HealthIssueDTO issue = (HealthIssueDTO) event.data();
+                yield new SearchRow(event.id(), event.animalId(), event.userId(), issue.getName(),
+                        join(issue.getDescription(), issue.getTreatment()));
+            }
+        };
+    }
+
+    private static String join(String first, String second) {
+        return (first != null ? first : "") + " " + (second != null ? second : "");
+    }
+
+    private record DocumentKey(ResourceType resource, Long id) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.search;
+
+/**
+ * Searchable text of one animal, vaccine or health issue, projected by the
+ * keyset queries that rebuild the index
+ *
+ * @param id       Resource id
+ * @param animalId Animal the resource belongs to
+ * @param userId   Owner
+ * @param title    Name, boosted over the body
+ * @param body     Free text: notes and diet, descriptions and treatments
+ */
+public record SearchRow(Long id, Long animalId, Long userId, String title, String body) {
+}
@@ -0,0 +1,114 @@
+package com.example.demo.search;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.enums.ResourceType;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Ranked search over a user's animals, vaccines and health issues, answered
+ * from {@link SearchIndex}. Every word of the query must match a name or the
+ * free text of a document, exactly, as a prefix, or within one or two typos;
+ * exact name matches rank highest.
+ */
+@Service
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class SearchService {
+
+    private static final int MAX_TERMS = 10;
+
+    private final SearchIndex searchIndex;
+    private final int maxResults;
+
+    public SearchService(SearchIndex searchIndex, @Value("${search.max-results:100}") int maxResults) {
+        this.searchIndex = searchIndex;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Search the documents of a user
+     *
+     * @param userId Owner whose documents are searched
+     * @param text   Words to search for
+     * @param types  Comma separated resource types to restrict to, null for all
+     * @param limit  Maximum number of hits
+     * @return Hits, best first
+     */
+    public List<SearchHit> search(Long userId, String text, String types, int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxResults);
+        }
+
+        List<String> terms = text != null ? searchIndex.analyze(text) : List.of();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("La búsqueda no puede estar vacía");
+        }
+        if (terms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException("La búsqueda admite como máximo " + MAX_TERMS + " palabras");
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(SearchIndex.USER_ID, userId.toString())), Occur.FILTER);
+
+        Set<ResourceType> resources = parseTypes(types);
+        if (resources.size() < ResourceType.values().length) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            for (ResourceType resource : resources) {
+                typeFilter.add(new TermQuery(new Term(SearchIndex.RESOURCE, resource.name())), Occur.SHOULD);
+            }
+            query.add(typeFilter.build(), Occur.FILTER);
+        }
+
+        for (String term : terms) {
+            query.add(termQuery(term), Occur.MUST);
+        }
+
+        return searchIndex.search(query.build(), limit);
+    }
+
+    private static Query termQuery(String term) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(SearchIndex.TITLE, term)), 4f), Occur.SHOULD)
+                .add(new TermQuery(new Term(SearchIndex.BODY, term)), Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(new Term(SearchIndex.TITLE, term)), 2f), Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(new Term(SearchIndex.BODY, term)), 0.5f), Occur.SHOULD);
+
+        // Short words would match almost anything with a typo allowed
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            query.add(new FuzzyQuery(new Term(SearchIndex.TITLE, term), maxEdits, 1), Occur.SHOULD)
+                    .add(new BoostQuery(new FuzzyQuery(new Term(SearchIndex.BODY, term), maxEdits, 1), 0.3f),
+                            Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private static Set<ResourceType> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return EnumSet.allOf(ResourceType.class);
+        }
+        Set<ResourceType> resources = EnumSet.noneOf(ResourceType.class);
+        for (String type : types.split(",")) {
+            try {
+                resources.add(ResourceType.valueOf(type.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de recurso desconocido: " + type.trim());
+            }
+        }
+        return resources;
+    }
+}
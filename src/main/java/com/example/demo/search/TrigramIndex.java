@@ -0,0 +1,150 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Substring index over short names. Every name is split into its overlapping
+ * three-character sequences and each trigram maps to the sorted ids of the
+ * names containing it. A query is answered by intersecting the posting lists
+ * of its own trigrams and checking the few remaining candidates with
+ * {@link String#contains}, instead of scanning every name.
+ * <p>
+ * Matching follows the LOWER(name) LIKE '%x%' it replaces on MySQL's default
+ * accent-insensitive collation: case and accents are ignored.
+ */
+final class TrigramIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, String> names = new HashMap<>();
+    // Trigram packed into a long (three 16-bit chars) -> sorted ids
+    private final Map<Long, long[]> postings = new HashMap<>();
+
+    synchronized void put(long id, String name) {
+        remove(id);
+        String normalized = normalize(name);
+        names.put(id, normalized);
+        for (long trigram : trigrams(normalized)) {
+            postings.merge(trigram, new long[] { id }, (ids, added) -> insert(ids, id));
+        }
+    }
+
+    synchronized void remove(long id) {
+        String normalized = names.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (long trigram : trigrams(normalized)) {
+            long[] ids = delete(postings.getOrDefault(trigram, EMPTY), id);
+            if (ids.length == 0) {
+                postings.remove(trigram);
+            } else {
+                postings.put(trigram, ids);
+            }
+        }
+    }
+
+    /**
+     * Ids of the names containing the query, in ascending order
+     */
+    synchronized long[] search(String query) {
+        String normalized = normalize(query);
+        long[] candidates;
+
+        if (normalized.length() < 3) {
+            // No trigram to look up; names are few per user, so a scan is cheap
+            candidates = names.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } else {
+            List<long[]> lists = new ArrayList<>();
+            for (long trigram : trigrams(normalized)) {
+                long[] ids = postings.get(trigram);
+                if (ids == null) {
+                    return EMPTY;
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.length));
+            candidates = lists.get(0);
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = intersect(candidates, lists.get(i));
+            }
+        }
+
+        // Trigrams shared with the query do not guarantee they appear in sequence
+        return Arrays.stream(candidates)
+                .filter(id -> names.get(id).contains(normalized))
+                .toArray();
+    }
+
+    synchronized int size() {
+        return names.size();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return EMPTY;
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int position = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
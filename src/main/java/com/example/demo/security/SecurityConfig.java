@@ -1,5 +1,6 @@
 package com.example.demo.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,16 +14,21 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
     private final JwtAuthEntryPoint jwtAuthEntryPoint;
+    private final int managementPort;
 
-    public SecurityConfig(JwtRequestFilter jwtRequestFilter, JwtAuthEntryPoint jwtAuthEntryPoint) {
+    public SecurityConfig(JwtRequestFilter jwtRequestFilter, JwtAuthEntryPoint jwtAuthEntryPoint,
+            @Value("${management.server.port:-1}") int managementPort) {
         this.jwtRequestFilter = jwtRequestFilter;
         this.jwtAuthEntryPoint = jwtAuthEntryPoint;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -31,6 +37,14 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Metrics are only open on the separate management port, which is
+                // not exposed publicly; on the API port they need a token
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort)
+                    .permitAll()
+                // The request was authorized before going async (SSE streams); the
+                // stateless async dispatch that closes it has no authentication
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated())
             .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthEntryPoint))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
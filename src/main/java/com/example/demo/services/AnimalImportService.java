@@ -0,0 +1,426 @@
+package com.example.demo.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.audit.AuditEntry;
+import com.example.demo.audit.AuditWriter;
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.AnimalImportResultDTO;
+import com.example.demo.dto.AnimalRequestDTO;
+import com.example.demo.dto.UserDTO;
+import com.example.demo.enums.AnimalType;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ImportFormat;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxWriter;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.util.CsvLineParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streaming bulk import of animals.
+ * Rows are parsed one line at a time and written with JDBC batch inserts, so
+ * memory use is bounded by the batch size rather than by the size of the upload.
+ * Hibernate cannot batch inserts for IDENTITY ids, which is why rows are written
+ * straight to the SINGLE_TABLE "animals" table instead of through the repository.
+ * Each batch writes the outbox rows of its animals in the same transaction, as
+ * the services do through {@link OutboxWriter} for their changes, and hands
+ * their creation entries to {@link AuditWriter} once committed, as the audit
+ * listener does for Hibernate inserts.
+ */
+@Service
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
+public class AnimalImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_SQL = "INSERT INTO animals ("
+            + "animal_type, name, birth_date, registration_date, weight_kg, color, notes, diet, gender, "
+            + "neutered, last_deworming, user_id, "
+            + "breed, size, coat_type, pedigree, indoor_only, "
+            + "species, clipped_wings, talking_ability, "
+            + "habitat_type, temp_requirements, venomous, "
+            + "water_type, water_temperature, ph_level, social_behavior, "
+            + "cage_trained, lifespan_years, teeth_condition, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Entity property of each INSERT_SQL column, as the audit log names them
+    private static final String[] PROPERTIES = {
+            "animalType", "name", "birthDate", "registrationDate", "weightKg", "color", "notes", "diet", "gender",
+            "neutered", "lastDeworming", "user",
+            "breed", "size", "coatType", "pedigree", "indoorOnly",
+            "species", "clippedWings", "talkingAbility",
+            "habitatType", "temperatureRequirements", "venomous",
+            "waterType", "waterTemperature", "phLevel", "socialBehavior",
+            "cageTrained", "lifespanYears", "teethCondition" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
+    private final AuditWriter auditWriter;
+    private final int batchSize;
+
+    public AnimalImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            UserRepository userRepository, ObjectMapper objectMapper, Validator validator,
+            ApplicationEventPublisher eventPublisher, OutboxWriter outboxWriter, AuditWriter auditWriter,
+            @Value("${animals.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(AnimalRequestDTO.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.outboxWriter = outboxWriter;
+        this.auditWriter = auditWriter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import animals for a user from an NDJSON or CSV stream.
+     * Each batch is committed in its own transaction; invalid rows are skipped
+     * and reported without aborting the rest of the import.
+     *
+     * @param input  Request body stream
+     * @param format Input format
+     * @param userId Owner of the imported animals
+     * @return Import summary with per-row errors and throughput
+     */
+    public AnimalImportResultDTO importAnimals(InputStream input, ImportFormat format, Long userId)
+            throws IOException {
+
+        UserDTO owner = userRepository.findById(userId)
+                .map(UserDTO::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        long start = System.nanoTime();
+        AnimalImportResultDTO result = new AnimalImportResultDTO();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            List<String> csvHeader = null;
+
+            if (format == ImportFormat.CSV) {
+                String headerLine = reader.readLine();
+                lineNumber++;
+                if (headerLine == null) {
+                    throw new IllegalArgumentException("El fichero CSV está vacío");
+                }
+                csvHeader = CsvLineParser.parse(headerLine);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+
+                AnimalRequestDTO request;
+                try {
+                    request = format == ImportFormat.CSV ? parseCsvRow(csvHeader, line) : requestReader.readValue(line);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    addError(result, lineNumber, List.of("Formato de fila inválido: " + e.getMessage()));
+                    continue;
+                }
+
+                List<String> violations = validate(request);
+                if (!violations.isEmpty()) {
+                    addError(result, lineNumber, violations);
+                    continue;
+                }
+
+                batch.add(new ImportRow(lineNumber, request));
+                if (batch.size() >= batchSize) {
+                    flush(batch, owner, result);
+                }
+            }
+
+            flush(batch, owner, result);
+        } finally {
+            // Batches already committed stay committed when the stream fails midway
+            // (a client disconnect or truncated upload), so listeners must hear about
+            // them either way; they can read the new rows
+            if (result.getImportedRows() > 0) {
+                eventPublisher.publishEvent(new AnimalsImportedEvent(userId, result.getImportedRows()));
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getImportedRows() * 1_000_000_000d / elapsedNanos : 0);
+        return result;
+    }
+
+    private AnimalRequestDTO parseCsvRow(List<String> header, String line) throws JsonProcessingException {
+        List<String> values = CsvLineParser.parse(line);
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException("La fila tiene más columnas que la cabecera");
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                node.put(header.get(i).trim(), value);
+            }
+        }
+        return objectMapper.treeToValue(node, AnimalRequestDTO.class);
+    }
+
+    private List<String> validate(AnimalRequestDTO request) {
+        Set<ConstraintViolation<AnimalRequestDTO>> violations = validator.validate(request);
+        List<String> messages = new ArrayList<>(violations.size());
+        for (ConstraintViolation<AnimalRequestDTO> violation : violations) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (request.getAnimalType() == AnimalType.OTHER) {
+            messages.add("Tipo de animal no soportado: " + request.getAnimalType());
+        }
+        return messages;
+    }
+
+    /**
+     * Write the pending rows as a single JDBC batch and clear the buffer
+     */
+    private void flush(List<ImportRow> batch, UserDTO owner, AnimalImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LocalDate registrationDate = LocalDate.now();
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            args.add(toColumnValues(row.request(), owner.getId(), registrationDate));
+        }
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> store(batch, args, owner, registrationDate));
+            result.setImportedRows(result.getImportedRows() + batch.size());
+            audit(ids, args, owner.getId());
+        } catch (DataAccessException e) {
+            if (e instanceof NonTransientDataAccessException
+                    && !(e instanceof NonTransientDataAccessResourceException)) {
+                // A row the validator let through (e.g. a value longer than its column)
+                // rolled back the whole batch; retry row by row to report only the bad ones
+                flushRowByRow(batch, args, owner, registrationDate, result);
+            } else {
+                String message = "Error al guardar el lote: " + e.getMostSpecificCause().getMessage();
+                for (ImportRow row : batch) {
+                    addError(result, row.line(), List.of(message));
+                }
+            }
+        }
+
+        batch.clear();
+    }
+
+    private void flushRowByRow(List<ImportRow> batch, List<Object[]> args, UserDTO owner,
+            LocalDate registrationDate, AnimalImportResultDTO result) {
+        for (int i = 0; i < batch.size(); i++) {
+            List<ImportRow> row = batch.subList(i, i + 1);
+            List<Object[]> values = args.subList(i, i + 1);
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> store(row, values, owner, registrationDate));
+                result.setImportedRows(result.getImportedRows() + 1);
+                audit(ids, values, owner.getId());
+            } catch (DataAccessException e) {
+                addError(result, batch.get(i).line(),
+                        List.of("Error al guardar la fila: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Insert rows and their outbox messages; the caller provides the transaction
+     *
+     * @return Generated ids, in the order of the rows
+     */
+    private List<Long> store(List<ImportRow> rows, List<Object[]> args, UserDTO owner,
+            LocalDate registrationDate) {
+        List<Long> ids = insert(args);
+        List<EntityChangedEvent> events = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Long id = ids.get(i);
+            AnimalDTO animal = AnimalDTO.fromImport(id, rows.get(i).request(), registrationDate, owner);
+            events.add(new EntityChangedEvent(ResourceType.ANIMAL, ChangeType.CREATED, id, id, owner.getId(),
+                    animal));
+        }
+        outboxWriter.write(events);
+        return ids;
+    }
+
+    /**
+     * Queue the creation entries of committed rows, with every non-null column
+     * as a change from null
+     */
+    private void audit(List<Long> ids, List<Object[]> args, Long actorId) {
+        Instant occurredAt = Instant.now();
+        List<AuditEntry> entries = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object[] values = args.get(i);
+            Map<String, AuditEntry.FieldChange> changes = new LinkedHashMap<>();
+            for (int column = 0; column < PROPERTIES.length; column++) {
+                if (values[column] != null) {
+                    changes.put(PROPERTIES[column], new AuditEntry.FieldChange(null, values[column]));
+                }
+            }
+            Long id = ids.get(i);
+            entries.add(new AuditEntry(ResourceType.ANIMAL, id, id, ChangeType.CREATED, actorId, changes,
+                    occurredAt));
+        }
+        auditWriter.enqueue(entries);
+    }
+
+    /**
+     * Insert rows as one JDBC batch
+     *
+     * @return Generated ids, in the order of the rows
+     */
+    private List<Long> insert(List<Object[]> args) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(args.get(i)).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return args.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = new ArrayList<>(args.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            // The driver names the key column: GENERATED_KEY on MySQL, ID on H2
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private void addError(AnimalImportResultDTO result, long line, List<String> messages) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new AnimalImportResultDTO.RowError(line, messages));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * Map a request to the column order of INSERT_SQL. Columns that do not belong
+     * to the animal's type are left NULL, as Hibernate does for SINGLE_TABLE rows.
+     */
+    private Object[] toColumnValues(AnimalRequestDTO r, Long userId, LocalDate registrationDate) {
+        Object[] values = new Object[30];
+        values[0] = r.getAnimalType().name();
+        values[1] = r.getName();
+        values[2] = r.getBirthDate();
+        values[3] = registrationDate;
+        values[4] = r.getWeightKg();
+        values[5] = r.getColor();
+        values[6] = r.getNotes();
+        values[7] = r.getDiet();
+        values[8] = r.getGender();
+        values[9] = r.isNeutered();
+        values[10] = r.getLastDeworming();
+        values[11] = userId;
+
+        switch (r.getAnimalType()) {
+            case DOG -> {
+                values[12] = r.getBreed();
+                values[13] = r.getSize();
+                values[14] = r.getCoatType();
+                values[15] = r.isPedigree();
+            }
+
+            case CAT -> {
+                values[12] = r.getBreed();
+                values[14] = r.getCoatType();
+                values[16] = r.isIndoorOnly();
+            }
+
+            case BIRD -> {
+                values[17] = r.getSpecies();
+                values[18] = r.isClippedWings();
+                values[19] = r.isTalkingAbility();
+            }
+
+            case REPTILE -> {
+                values[17] = r.getSpecies();
+                values[20] = r.getHabitatType();
+                values[21] = r.getTemperatureRequirements();
+                values[22] = r.isVenomous();
+            }
+
+            case FISH -> {
+                values[17] = r.getSpecies();
+                values[23] = r.getWaterType();
+                values[24] = r.getWaterTemperature();
+                values[25] = r.getPhLevel();
+                values[26] = r.getSocialBehavior();
+            }
+
+            case RODENT -> {
+                values[17] = r.getSpecies();
+                values[27] = r.isCageTrained();
+                values[28] = r.getLifespanYears();
+                values[29] = r.getTeethCondition();
+            }
+
+            default -> throw new IllegalArgumentException("Tipo de animal no soportado: " + r.getAnimalType());
+        }
+
+        return values;
+    }
+
+    private record ImportRow(long line, AnimalRequestDTO request) {
+    }
+}
@@ -1,49 +1,95 @@
 package com.example.demo.services;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.AnimalField;
+import com.example.demo.dto.AnimalProjectionDTO;
 import com.example.demo.dto.AnimalRequestDTO;
 import com.example.demo.dto.DetailLevel;
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.dto.VaccineDTO;
 import com.example.demo.entities.*;
+import com.example.demo.enums.AnimalType;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repositories.AnimalFilter;
+import com.example.demo.repositories.AnimalProjectionRepository;
 import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.HealthIssueRepository;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.repositories.VaccineRepository;
+import com.example.demo.response.PageResponse;
+import com.example.demo.search.NameSearchIndex;
+import com.example.demo.util.JsonMergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Transactional(readOnly = true)
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
 public class AnimalService {
 
     private final AnimalRepository animalRepository;
     private final UserRepository userRepository;
-
-    public AnimalService(AnimalRepository animalRepository, UserRepository userRepository) {
+    private final AnimalProjectionRepository animalProjectionRepository;
+    private final HealthIssueRepository healthIssueRepository;
+    private final VaccineRepository vaccineRepository;
+    private final NameSearchIndex nameSearchIndex;
+    private final JsonMergePatch jsonMergePatch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchIds;
+    private final int maxNameMatchIds;
+
+    public AnimalService(AnimalRepository animalRepository, UserRepository userRepository,
+            AnimalProjectionRepository animalProjectionRepository, HealthIssueRepository healthIssueRepository,
+            VaccineRepository vaccineRepository, NameSearchIndex nameSearchIndex, JsonMergePatch jsonMergePatch,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${animals.batch.max-ids:100}") int maxBatchIds,
+            @Value("${search.names.max-matched-ids:1000}") int maxNameMatchIds) {
         this.animalRepository = animalRepository;
         this.userRepository = userRepository;
+        this.animalProjectionRepository = animalProjectionRepository;
+        this.healthIssueRepository = healthIssueRepository;
+        this.vaccineRepository = vaccineRepository;
+        this.nameSearchIndex = nameSearchIndex;
+        this.jsonMergePatch = jsonMergePatch;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchIds = maxBatchIds;
+        this.maxNameMatchIds = maxNameMatchIds;
     }
 
     /**
      * Get all animals for a specific user with basic filtering
      */
     public List<AnimalDTO> getAllAnimalsByUserId(Long userId, DetailLevel detailLevel) {
-        return animalRepository.findByUserId(userId).stream()
-                .map(animal -> AnimalDTO.fromEntity(animal, detailLevel))
-                .collect(Collectors.toList());
+        return toDTOs(animalRepository.findByUserId(userId), detailLevel);
     }
 
     /**
      * Get all animals for a specific user with advanced filtering, pagination and
      * sorting
      */
-    public Map<String, Object> getAllAnimalsByUserIdWithFilters(
+    public PageResponse<AnimalDTO> getAllAnimalsByUserIdWithFilters(
             Long userId,
             String name,
             String animalType,
@@ -53,8 +99,13 @@ public class AnimalService {
             Pageable pageable) {
 
         Page<Animal> animalPage;
+        List<Long> nameMatches = name != null ? nameSearchIndex.findAnimalIds(userId, name) : null;
 
-        if (name != null && animalType != null && startDate != null && endDate != null) {
+        if (nameMatches != null && nameMatches.isEmpty()) {
+            animalPage = Page.empty(pageable);
+        } else if (nameMatches != null && nameMatches.size() <= maxNameMatchIds) {
+            animalPage = findAnimalsByIds(userId, nameMatches, animalType, startDate, endDate, pageable);
+        } else if (name != null && animalType != null && startDate != null && endDate != null) {
             animalPage = animalRepository.findByUserIdAndNameContainingIgnoreCaseAndAnimalTypeAndBirthDateBetween(
                     userId, name, animalType, startDate, endDate, pageable);
         } else if (name != null && animalType != null) {
@@ -76,26 +127,58 @@ public class AnimalService {
             animalPage = animalRepository.findByUserId(userId, pageable);
         }
 
-        List<AnimalDTO> animals = animalPage.getContent().stream()
-                .map(animal -> AnimalDTO.fromEntity(animal, detailLevel))
-                .collect(Collectors.toList());
+        return PageResponse.of("animals", animalPage, toDTOs(animalPage.getContent(), detailLevel));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("animals", animals);
-        response.put("currentPage", animalPage.getNumber());
-        response.put("totalItems", animalPage.getTotalElements());
-        response.put("totalPages", animalPage.getTotalPages());
+    /**
+     * Get a specific animal by ID, ensuring it belongs to the specified user.
+     * With FULL detail and includeVaccines the vaccines are added by a second
+     * query instead of a join, which would multiply them by the health issues.
+     */
+    public AnimalDTO getAnimalById(Long animalId, Long userId, DetailLevel detailLevel, boolean includeVaccines) {
+        Optional<Animal> animal = detailLevel == DetailLevel.FULL
+                ? animalRepository.findWithDetailsByIdAndUserId(animalId, userId)
+                : animalRepository.findByIdAndUserId(animalId, userId);
+        AnimalDTO dto = animal
+                .map(found -> AnimalDTO.fromEntity(found, detailLevel))
+                .orElseThrow(() -> new ResourceNotFoundException("Animal", "id", animalId));
 
-        return response;
+        if (detailLevel == DetailLevel.FULL && includeVaccines) {
+            attachVaccines(List.of(dto));
+        }
+        return dto;
     }
 
     /**
-     * Get a specific animal by ID, ensuring it belongs to the specified user
+     * Get several animals of a user at once, in the order of the given IDs.
+     * Ownership is checked by the IN query itself; FULL details and vaccines are
+     * loaded for all of them with one more query each.
      */
-    public AnimalDTO getAnimalById(Long animalId, Long userId, DetailLevel detailLevel) {
-        Animal animal = animalRepository.findByIdAndUserId(animalId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Animal", "id", animalId));
-        return AnimalDTO.fromEntity(animal, detailLevel);
+    public List<AnimalDTO> getAnimalsByIds(Collection<Long> animalIds, Long userId, DetailLevel detailLevel,
+            boolean includeVaccines) {
+        if (animalIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("Se pueden solicitar como máximo " + maxBatchIds + " animales");
+        }
+
+        Map<Long, Animal> animalsById = new HashMap<>();
+        for (Animal animal : animalRepository.findByIdInAndUserId(animalIds, userId)) {
+            animalsById.put(animal.getId(), animal);
+        }
+
+        List<Animal> animals = new ArrayList<>(animalIds.size());
+        for (Long animalId : animalIds) {
+            Animal animal = animalsById.get(animalId);
+            if (animal == null) {
+                throw new ResourceNotFoundException("Animal", "id", animalId);
+            }
+            animals.add(animal);
+        }
+
+        List<AnimalDTO> dtos = toDTOs(animals, detailLevel);
+        if (detailLevel == DetailLevel.FULL && includeVaccines) {
+            attachVaccines(dtos);
+        }
+        return dtos;
     }
 
     /**
@@ -207,18 +290,43 @@ public class AnimalService {
 
         animal.setUser(user);
         Animal savedAnimal = animalRepository.save(animal);
-        return AnimalDTO.fromEntity(savedAnimal, DetailLevel.FULL);
+        AnimalDTO dto = AnimalDTO.fromEntity(savedAnimal, DetailLevel.FULL);
+        publish(ChangeType.CREATED, savedAnimal.getId(), userId, dto);
+        return dto;
+    }
+
+    /**
+     * Update an existing animal. expectedVersion comes from If-Match; null
+     * updates unconditionally.
+     */
+    @Transactional
+    public AnimalDTO updateAnimal(AnimalRequestDTO request, Long animalId, Long userId, Long expectedVersion) {
+
+        Animal existingAnimal = animalRepository.findWithDetailsByIdAndUserId(animalId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Animal", "id", animalId));
+        PreconditionFailedException.check("Animal", animalId, expectedVersion, existingAnimal.getVersion());
+
+        applyRequest(existingAnimal, request);
+        return saveUpdate(existingAnimal, userId);
     }
 
     /**
-     * Update an existing animal
+     * Apply a JSON Merge Patch to an animal. Unchanged columns are left out of
+     * the UPDATE, see @DynamicUpdate on Animal.
      */
     @Transactional
-    public AnimalDTO updateAnimal(AnimalRequestDTO request, Long animalId, Long userId) {
+    public AnimalDTO patchAnimal(JsonNode patch, Long animalId, Long userId, Long expectedVersion) {
 
-        Animal existingAnimal = animalRepository.findByIdAndUserId(animalId, userId)
+        Animal existingAnimal = animalRepository.findWithDetailsByIdAndUserId(animalId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Animal", "id", animalId));
+        PreconditionFailedException.check("Animal", animalId, expectedVersion, existingAnimal.getVersion());
+
+        AnimalRequestDTO request = jsonMergePatch.apply(AnimalRequestDTO.fromEntity(existingAnimal), patch);
+        applyRequest(existingAnimal, request);
+        return saveUpdate(existingAnimal, userId);
+    }
 
+    private void applyRequest(Animal existingAnimal, AnimalRequestDTO request) {
         if (existingAnimal.getAnimalType() != request.getAnimalType()) {
             throw new IllegalArgumentException("No se puede cambiar el tipo de animal");
         }
@@ -284,9 +392,14 @@ public class AnimalService {
             default ->
                 throw new IllegalArgumentException("Tipo de animal no soportado: " + existingAnimal.getAnimalType());
         }
+    }
 
-        Animal savedAnimal = animalRepository.save(existingAnimal);
-        return AnimalDTO.fromEntity(savedAnimal, DetailLevel.FULL);
+    private AnimalDTO saveUpdate(Animal existingAnimal, Long userId) {
+        // Flushing runs the version check now and gives the DTO the new version
+        Animal savedAnimal = animalRepository.saveAndFlush(existingAnimal);
+        AnimalDTO dto = AnimalDTO.fromEntity(savedAnimal, DetailLevel.FULL);
+        publish(ChangeType.UPDATED, savedAnimal.getId(), userId, dto);
+        return dto;
     }
 
     /**
@@ -299,6 +412,7 @@ public class AnimalService {
             throw new ResourceNotFoundException("Animal", "id", animalId);
         }
         animalRepository.deleteById(animalId);
+        publish(ChangeType.DELETED, animalId, userId, null);
     }
     
     /**
@@ -308,27 +422,157 @@ public class AnimalService {
      * @param userId User ID
      * @param detailLevel Detail level for the animal DTOs
      * @param pageable Pagination information
-     * @return Map containing paginated list of animals with pending vaccines and pagination metadata
+     * @return Page containing paginated list of animals with pending vaccines and pagination metadata
      */
-    public Map<String, Object> getAnimalsWithPendingVaccines(Long userId, DetailLevel detailLevel, Pageable pageable) {
+    public PageResponse<AnimalDTO> getAnimalsWithPendingVaccines(Long userId, DetailLevel detailLevel, Pageable pageable) {
         // Get current date to check for non-expired vaccines
         LocalDate currentDate = LocalDate.now();
         
         // Get paginated animals with pending vaccines
         Page<Animal> animalPage = animalRepository.findAnimalsWithPendingVaccines(userId, currentDate, pageable);
         
-        // Convert entities to DTOs
-        List<AnimalDTO> animals = animalPage.getContent().stream()
+        // Convert entities to DTOs and create response with pagination metadata
+        return PageResponse.of("animals", animalPage, toDTOs(animalPage.getContent(), detailLevel));
+    }
+
+    /**
+     * Get only the requested fields of all animals of a user
+     */
+    public List<AnimalProjectionDTO> getAnimalProjectionsByUserId(Long userId, Set<AnimalField> fields) {
+        return getAnimalProjections(AnimalFilter.byUser(userId), fields, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * Get only the requested fields of the animals of a user with advanced
+     * filtering, pagination and sorting
+     */
+    public PageResponse<AnimalProjectionDTO> getAnimalProjectionsWithFilters(
+            Long userId,
+            String name,
+            String animalType,
+            LocalDate startDate,
+            LocalDate endDate,
+            Set<AnimalField> fields,
+            Pageable pageable) {
+
+        AnimalFilter filter = new AnimalFilter(userId, null, name, parseAnimalType(animalType), startDate, endDate,
+                null);
+        Page<AnimalProjectionDTO> animalPage = getAnimalProjections(filter, fields, pageable);
+
+        return PageResponse.of("animals", animalPage, animalPage.getContent());
+    }
+
+    /**
+     * Get only the requested fields of a specific animal, ensuring it belongs to the specified user
+     */
+    public AnimalProjectionDTO getAnimalProjectionById(Long animalId, Long userId, Set<AnimalField> fields) {
+        return getAnimalProjections(AnimalFilter.byId(animalId, userId), fields, Pageable.unpaged())
+                .getContent().stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Animal", "id", animalId));
+    }
+
+    /**
+     * Get only the requested fields of the animals with pending vaccines of a user
+     */
+    public PageResponse<AnimalProjectionDTO> getAnimalProjectionsWithPendingVaccines(Long userId,
+            Set<AnimalField> fields, Pageable pageable) {
+
+        AnimalFilter filter = AnimalFilter.withPendingVaccines(userId, LocalDate.now());
+        Page<AnimalProjectionDTO> animalPage = getAnimalProjections(filter, fields, pageable);
+
+        return PageResponse.of("animals", animalPage, animalPage.getContent());
+    }
+
+    private Page<AnimalProjectionDTO> getAnimalProjections(AnimalFilter filter, Set<AnimalField> fields,
+            Pageable pageable) {
+
+        Page<AnimalProjectionDTO> animalPage = animalProjectionRepository.findProjections(filter, fields, pageable);
+
+        // Health issues of the whole page in one query instead of one per animal
+        if (fields.contains(AnimalField.HEALTH_ISSUES) && animalPage.hasContent()) {
+            Map<Long, AnimalProjectionDTO> animalsById = new HashMap<>();
+            for (AnimalProjectionDTO animal : animalPage.getContent()) {
+                animalsById.put(animal.getId(), animal);
+            }
+
+            for (HealthIssueDTO issue : healthIssueRepository.findDTOsByAnimalIdIn(animalsById.keySet())) {
+                AnimalProjectionDTO animal = animalsById.get(issue.getAnimalId());
+                @SuppressWarnings("unchecked")
+                List<HealthIssueDTO> issues = (List<HealthIssueDTO>) animal.get(AnimalField.HEALTH_ISSUES);
+                if (issues == null) {
+                    issues = new ArrayList<>();
+                    animal.set(AnimalField.HEALTH_ISSUES, issues);
+                }
+                issues.add(issue);
+            }
+        }
+
+        return animalPage;
+    }
+
+    /**
+     * Name filter resolved by the trigram index: the other filters and the page
+     * are applied to the matching primary keys
+     */
+    private Page<Animal> findAnimalsByIds(Long userId, List<Long> ids, String animalType, LocalDate startDate,
+            LocalDate endDate, Pageable pageable) {
+        boolean dates = startDate != null && endDate != null;
+        if (animalType != null && dates) {
+            return animalRepository.findByUserIdAndIdInAndAnimalTypeAndBirthDateBetween(
+                    userId, ids, animalType, startDate, endDate, pageable);
+        } else if (animalType != null) {
+            return animalRepository.findByUserIdAndIdInAndAnimalType(userId, ids, animalType, pageable);
+        } else if (dates) {
+            return animalRepository.findByUserIdAndIdInAndBirthDateBetween(userId, ids, startDate, endDate, pageable);
+        }
+        return animalRepository.findByUserIdAndIdIn(userId, ids, pageable);
+    }
+
+    /**
+     * Set the vaccines of a page of animals, loaded as DTOs with one query
+     */
+    private void attachVaccines(List<AnimalDTO> animals) {
+        Map<Long, AnimalDTO> animalsById = new HashMap<>();
+        for (AnimalDTO animal : animals) {
+            animal.setVaccines(new ArrayList<>());
+            animalsById.put(animal.getId(), animal);
+        }
+
+        for (VaccineDTO vaccine : vaccineRepository.findDTOsByAnimalIdIn(animalsById.keySet())) {
+            animalsById.get(vaccine.getAnimalId()).getVaccines().add(vaccine);
+        }
+    }
+
+    /**
+     * Map animals to DTOs. For FULL detail the owner and health issues of all
+     * the animals are loaded first with a single fetch-join query, so mapping
+     * never triggers a lazy load.
+     */
+    private List<AnimalDTO> toDTOs(List<Animal> animals, DetailLevel detailLevel) {
+        if (detailLevel == DetailLevel.FULL && !animals.isEmpty()) {
+            animalRepository.findWithDetailsByIdIn(animals.stream().map(Animal::getId).toList());
+        }
+
+        return animals.stream()
                 .map(animal -> AnimalDTO.fromEntity(animal, detailLevel))
                 .collect(Collectors.toList());
-        
-        // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("animals", animals);
-        response.put("currentPage", animalPage.getNumber());
-        response.put("totalItems", animalPage.getTotalElements());
-        response.put("totalPages", animalPage.getTotalPages());
-        
-        return response;
+    }
+
+    private static AnimalType parseAnimalType(String animalType) {
+        if (animalType == null) {
+            return null;
+        }
+        for (AnimalType type : AnimalType.values()) {
+            if (type.name().equalsIgnoreCase(animalType) || type.getDisplayName().equalsIgnoreCase(animalType)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de animal no soportado: " + animalType);
+    }
+
+    private void publish(ChangeType change, Long animalId, Long userId, AnimalDTO data) {
+        eventPublisher.publishEvent(
+                new EntityChangedEvent(ResourceType.ANIMAL, change, animalId, animalId, userId, data));
     }
 }
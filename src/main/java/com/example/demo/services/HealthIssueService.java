@@ -1,11 +1,11 @@
 package com.example.demo.services;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -15,19 +15,41 @@ import com.example.demo.dto.HealthIssueDTO;
 import com.example.demo.dto.HealthIssueRequestDTO;
 import com.example.demo.entities.Animal;
 import com.example.demo.entities.HealthIssue;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repositories.AnimalRepository;
 import com.example.demo.repositories.HealthIssueRepository;
+import com.example.demo.response.PageResponse;
+import com.example.demo.search.NameSearchIndex;
+import com.example.demo.util.JsonMergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Transactional(readOnly = true)
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
 public class HealthIssueService {
 
     private final HealthIssueRepository healthIssueRepository;
     private final AnimalRepository animalRepository;
-
-    public HealthIssueService(HealthIssueRepository healthIssueRepository, AnimalRepository animalRepository) {
+    private final NameSearchIndex nameSearchIndex;
+    private final JsonMergePatch jsonMergePatch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxNameMatchIds;
+
+    public HealthIssueService(HealthIssueRepository healthIssueRepository, AnimalRepository animalRepository,
+            NameSearchIndex nameSearchIndex, JsonMergePatch jsonMergePatch, ApplicationEventPublisher eventPublisher,
+            @Value("${search.names.max-matched-ids:1000}") int maxNameMatchIds) {
         this.healthIssueRepository = healthIssueRepository;
         this.animalRepository = animalRepository;
+        this.nameSearchIndex = nameSearchIndex;
+        this.jsonMergePatch = jsonMergePatch;
+        this.eventPublisher = eventPublisher;
+        this.maxNameMatchIds = maxNameMatchIds;
     }
 
     /**
@@ -47,7 +69,7 @@ public class HealthIssueService {
     /**
      * Get all health issues for an animal with filtering and pagination
      */
-    public Map<String, Object> getAllHealthIssuesByAnimalIdWithFilters(
+    public PageResponse<HealthIssueDTO> getAllHealthIssuesByAnimalIdWithFilters(
             Long animalId,
             Long userId,
             String name,
@@ -60,8 +82,17 @@ public class HealthIssueService {
         }
 
         Page<HealthIssue> healthIssuePage;
-
-        if (name != null && startDate != null && endDate != null) {
+        List<Long> nameMatches = name != null ? nameSearchIndex.findHealthIssueIds(userId, animalId, name) : null;
+
+        if (nameMatches != null && nameMatches.isEmpty()) {
+            healthIssuePage = Page.empty(pageable);
+        } else if (nameMatches != null && nameMatches.size() <= maxNameMatchIds) {
+            // Name resolved by the trigram index; fetch the matches by primary key
+            healthIssuePage = startDate != null && endDate != null
+                    ? healthIssueRepository.findByAnimalIdAndIdInAndDiagnosisDateBetween(
+                            animalId, nameMatches, startDate, endDate, pageable)
+                    : healthIssueRepository.findByAnimalIdAndIdIn(animalId, nameMatches, pageable);
+        } else if (name != null && startDate != null && endDate != null) {
             healthIssuePage = healthIssueRepository.findByAnimalIdAndNameContainingIgnoreCaseAndDiagnosisDateBetween(
                     animalId, name, startDate, endDate, pageable);
         } else if (name != null) {
@@ -77,13 +108,7 @@ public class HealthIssueService {
                 .map(HealthIssueDTO::fromEntity)
                 .collect(Collectors.toList());
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("healthIssues", healthIssues);
-        response.put("currentPage", healthIssuePage.getNumber());
-        response.put("totalItems", healthIssuePage.getTotalElements());
-        response.put("totalPages", healthIssuePage.getTotalPages());
-
-        return response;
+        return PageResponse.of("healthIssues", healthIssuePage, healthIssues);
     }
 
     public HealthIssueDTO getHealthIssueById(Long healthIssueId, Long animalId, Long userId) {
@@ -112,28 +137,58 @@ public class HealthIssueService {
         animal.addHealthIssue(healthIssue);
 
         HealthIssue savedHealthIssue = healthIssueRepository.save(healthIssue);
-        return HealthIssueDTO.fromEntity(savedHealthIssue);
+        HealthIssueDTO dto = HealthIssueDTO.fromEntity(savedHealthIssue);
+        publish(ChangeType.CREATED, dto.getId(), animalId, userId, dto);
+        return dto;
     }
 
     @Transactional
     public HealthIssueDTO updateHealthIssue(HealthIssueRequestDTO request, Long healthIssueId, Long animalId,
-            Long userId) {
+            Long userId, Long expectedVersion) {
+
+        HealthIssue healthIssue = findForUpdate(healthIssueId, animalId, userId, expectedVersion);
+        applyRequest(healthIssue, request);
+        return saveUpdate(healthIssue, animalId, userId);
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a health issue; only changed columns are updated
+     */
+    @Transactional
+    public HealthIssueDTO patchHealthIssue(JsonNode patch, Long healthIssueId, Long animalId, Long userId,
+            Long expectedVersion) {
+
+        HealthIssue healthIssue = findForUpdate(healthIssueId, animalId, userId, expectedVersion);
+        HealthIssueRequestDTO request = jsonMergePatch.apply(HealthIssueRequestDTO.fromEntity(healthIssue), patch);
+        applyRequest(healthIssue, request);
+        return saveUpdate(healthIssue, animalId, userId);
+    }
 
+    private HealthIssue findForUpdate(Long healthIssueId, Long animalId, Long userId, Long expectedVersion) {
         if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
             throw new ResourceNotFoundException("Animal", "id", animalId);
         }
 
         HealthIssue healthIssue = healthIssueRepository.findByIdAndAnimalId(healthIssueId, animalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Problema de salud", "id", healthIssueId));
+        PreconditionFailedException.check("Problema de salud", healthIssueId, expectedVersion,
+                healthIssue.getVersion());
+        return healthIssue;
+    }
 
+    private void applyRequest(HealthIssue healthIssue, HealthIssueRequestDTO request) {
         healthIssue.setName(request.getName());
         healthIssue.setDiagnosisDate(request.getDiagnosisDate());
         healthIssue.setRecoveryDate(request.getRecoveryDate());
         healthIssue.setDescription(request.getDescription());
         healthIssue.setTreatment(request.getTreatment());
+    }
 
-        HealthIssue updatedHealthIssue = healthIssueRepository.save(healthIssue);
-        return HealthIssueDTO.fromEntity(updatedHealthIssue);
+    private HealthIssueDTO saveUpdate(HealthIssue healthIssue, Long animalId, Long userId) {
+        HealthIssue updatedHealthIssue = healthIssueRepository.saveAndFlush(healthIssue);
+        HealthIssueDTO dto = HealthIssueDTO.fromEntity(updatedHealthIssue);
+        publish(ChangeType.UPDATED, updatedHealthIssue.getId(), animalId, userId, dto);
+        return dto;
     }
 
     @Transactional
@@ -148,5 +203,11 @@ public class HealthIssueService {
         }
 
         healthIssueRepository.deleteByIdAndAnimalId(healthIssueId, animalId);
+        publish(ChangeType.DELETED, healthIssueId, animalId, userId, null);
+    }
+
+    private void publish(ChangeType change, Long healthIssueId, Long animalId, Long userId, HealthIssueDTO data) {
+        eventPublisher.publishEvent(
+                new EntityChangedEvent(ResourceType.HEALTH_ISSUE, change, healthIssueId, animalId, userId, data));
     }
 }
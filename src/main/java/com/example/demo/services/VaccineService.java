@@ -1,11 +1,10 @@
 package com.example.demo.services;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,19 +16,35 @@ import com.example.demo.dto.VaccineDTO;
 import com.example.demo.dto.VaccineRequestDTO;
 import com.example.demo.entities.Animal;
 import com.example.demo.entities.Vaccine;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repositories.AnimalRepository;
 import com.example.demo.repositories.VaccineRepository;
+import com.example.demo.response.PageResponse;
+import com.example.demo.util.JsonMergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Transactional(readOnly = true)
+@Timed(value = "petmanager.service", description = "Service method execution time", histogram = true)
 public class VaccineService {
 
     private final VaccineRepository vaccineRepository;
     private final AnimalRepository animalRepository;
+    private final JsonMergePatch jsonMergePatch;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VaccineService(VaccineRepository vaccineRepository, AnimalRepository animalRepository) {
+    public VaccineService(VaccineRepository vaccineRepository, AnimalRepository animalRepository,
+            JsonMergePatch jsonMergePatch, ApplicationEventPublisher eventPublisher) {
         this.vaccineRepository = vaccineRepository;
         this.animalRepository = animalRepository;
+        this.jsonMergePatch = jsonMergePatch;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -41,9 +56,9 @@ public class VaccineService {
      * @param endDate       Optional end date for filtering
      * @param dateType      Type of date to filter by ("application" or "expiration")
      * @param pageable      Pagination information
-     * @return Map containing paginated list of vaccines and pagination metadata
+     * @return Page containing paginated list of vaccines and pagination metadata
      */
-    public Map<String, Object> getVaccinesByAnimalId(
+    public PageResponse<VaccineDTO> getVaccinesByAnimalId(
             Long animalId,
             Long userId,
             LocalDate startDate,
@@ -80,13 +95,7 @@ public class VaccineService {
                 .collect(Collectors.toList());
 
         // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("vaccines", vaccines);
-        response.put("currentPage", vaccinePage.getNumber());
-        response.put("totalItems", vaccinePage.getTotalElements());
-        response.put("totalPages", vaccinePage.getTotalPages());
-
-        return response;
+        return PageResponse.of("vaccines", vaccinePage, vaccines);
     }
 
     /**
@@ -135,8 +144,10 @@ public class VaccineService {
         vaccine.setAnimal(animal);
         
         Vaccine savedVaccine = vaccineRepository.save(vaccine);
-        
-        return VaccineDTO.fromEntity(savedVaccine);
+        VaccineDTO dto = VaccineDTO.fromEntity(savedVaccine);
+        publish(ChangeType.CREATED, dto.getId(), animalId, userId, dto);
+
+        return dto;
     }
     
     /**
@@ -146,10 +157,13 @@ public class VaccineService {
      * @param vaccineId Vaccine ID
      * @param animalId Animal ID
      * @param userId User ID (for ownership validation)
+     * @param expectedVersion Version named by If-Match, null to update unconditionally
      * @return Updated vaccine DTO
+     * @throws PreconditionFailedException if the vaccine is no longer at expectedVersion
      */
     @Transactional
-    public VaccineDTO updateVaccine(VaccineRequestDTO request, Long vaccineId, Long animalId, Long userId) {
+    public VaccineDTO updateVaccine(VaccineRequestDTO request, Long vaccineId, Long animalId, Long userId,
+            Long expectedVersion) {
         request.setUpdate(true);
         request.validate();
         
@@ -161,6 +175,7 @@ public class VaccineService {
         // Find vaccine by ID and animal ID
         Vaccine vaccine = vaccineRepository.findByIdAndAnimalId(vaccineId, animalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vaccine", "id", vaccineId));
+        PreconditionFailedException.check("Vaccine", vaccineId, expectedVersion, vaccine.getVersion());
         
         // Update vaccine fields
         vaccine.setName(request.getName());
@@ -170,10 +185,53 @@ public class VaccineService {
         vaccine.setExpirationDate(request.getExpirationDate());
         vaccine.setDescription(request.getDescription());
         
-        Vaccine updatedVaccine = vaccineRepository.save(vaccine);
-        
-        return VaccineDTO.fromEntity(updatedVaccine);
+        // Flush so the DTO carries the incremented version
+        Vaccine updatedVaccine = vaccineRepository.saveAndFlush(vaccine);
+        VaccineDTO dto = VaccineDTO.fromEntity(updatedVaccine);
+        publish(ChangeType.UPDATED, vaccineId, animalId, userId, dto);
+
+        return dto;
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a vaccine. Only name, expirationDate and
+     * description can be patched, and only changed columns are updated.
+     * Unlike a full update, patching an applied vaccine keeps its application date.
+     *
+     * @param patch Merge patch document
+     * @param vaccineId Vaccine ID
+     * @param animalId Animal ID
+     * @param userId User ID (for ownership validation)
+     * @param expectedVersion Version named by If-Match, null to update unconditionally
+     * @return Updated vaccine DTO
+     */
+    @Transactional
+    public VaccineDTO patchVaccine(JsonNode patch, Long vaccineId, Long animalId, Long userId,
+            Long expectedVersion) {
+        // Verify animal ownership
+        if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
+            throw new ResourceNotFoundException("Animal", "id", animalId);
+        }
+
+        Vaccine vaccine = vaccineRepository.findByIdAndAnimalId(vaccineId, animalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vaccine", "id", vaccineId));
+        PreconditionFailedException.check("Vaccine", vaccineId, expectedVersion, vaccine.getVersion());
+
+        VaccineRequestDTO request = jsonMergePatch.apply(VaccineRequestDTO.fromEntity(vaccine), patch);
+        request.setUpdate(true);
+        request.validate();
+
+        vaccine.setName(request.getName());
+        vaccine.setExpirationDate(request.getExpirationDate());
+        vaccine.setDescription(request.getDescription());
+
+        Vaccine updatedVaccine = vaccineRepository.saveAndFlush(vaccine);
+        VaccineDTO dto = VaccineDTO.fromEntity(updatedVaccine);
+        publish(ChangeType.UPDATED, vaccineId, animalId, userId, dto);
+
+        return dto;
     }
+
     /**
      * Confirm vaccine application
      * This is the only endpoint that can set applicationDate
@@ -203,9 +261,11 @@ public class VaccineService {
         // Apply the vaccine - this sets applicationDate to today and expirationDate to null
         vaccine.applyVaccine();
         
-        Vaccine updatedVaccine = vaccineRepository.save(vaccine);
-        
-        return VaccineDTO.fromEntity(updatedVaccine);
+        Vaccine updatedVaccine = vaccineRepository.saveAndFlush(vaccine);
+        VaccineDTO dto = VaccineDTO.fromEntity(updatedVaccine);
+        publish(ChangeType.APPLIED, vaccineId, animalId, userId, dto);
+
+        return dto;
     }
     
     /**
@@ -228,6 +288,7 @@ public class VaccineService {
         
         // Delete vaccine
         vaccineRepository.delete(vaccine);
+        publish(ChangeType.DELETED, vaccineId, animalId, userId, null);
     }
     
     /**
@@ -236,9 +297,9 @@ public class VaccineService {
      * @param animalId Animal ID
      * @param userId User ID (for ownership validation)
      * @param pageable Pagination information
-     * @return Map containing paginated list of non-expired vaccines and pagination metadata
+     * @return Page containing paginated list of non-expired vaccines and pagination metadata
      */
-    public Map<String, Object> getNonExpiredVaccines(Long animalId, Long userId, Pageable pageable) {
+    public PageResponse<VaccineDTO> getNonExpiredVaccines(Long animalId, Long userId, Pageable pageable) {
         // Verify that the animal exists and belongs to the user
         if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
             throw new ResourceNotFoundException("Animal", "id", animalId);
@@ -257,13 +318,7 @@ public class VaccineService {
                 .collect(Collectors.toList());
 
         // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("vaccines", vaccines);
-        response.put("currentPage", vaccinePage.getNumber());
-        response.put("totalItems", vaccinePage.getTotalElements());
-        response.put("totalPages", vaccinePage.getTotalPages());
-
-        return response;
+        return PageResponse.of("vaccines", vaccinePage, vaccines);
     }
     
     /**
@@ -272,9 +327,9 @@ public class VaccineService {
      * @param animalId Animal ID
      * @param userId User ID (for ownership validation)
      * @param pageable Pagination information
-     * @return Map containing paginated list of confirmed vaccines and pagination metadata
+     * @return Page containing paginated list of confirmed vaccines and pagination metadata
      */
-    public Map<String, Object> getConfirmedVaccines(Long animalId, Long userId, Pageable pageable) {
+    public PageResponse<VaccineDTO> getConfirmedVaccines(Long animalId, Long userId, Pageable pageable) {
         // Verify that the animal exists and belongs to the user
         if (!animalRepository.existsByIdAndUserId(animalId, userId)) {
             throw new ResourceNotFoundException("Animal", "id", animalId);
@@ -287,14 +342,10 @@ public class VaccineService {
         // Convert entities to DTOs
         List<VaccineDTO> vaccines = vaccinePage.getContent().stream()
                 .map(VaccineDTO::fromEntity)
-                .collect(Collectors.toList());        // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("vaccines", vaccines);
-        response.put("currentPage", vaccinePage.getNumber());
-        response.put("totalItems", vaccinePage.getTotalElements());
-        response.put("totalPages", vaccinePage.getTotalPages());
+                .collect(Collectors.toList());
 
-        return response;
+        // Create response with pagination metadata
+        return PageResponse.of("vaccines", vaccinePage, vaccines);
     }
     
     /**
@@ -302,9 +353,9 @@ public class VaccineService {
      * 
      * @param userId User ID
      * @param pageable Pagination information
-     * @return Map containing paginated list of animals with pending vaccines and pagination metadata
+     * @return Page containing paginated list of animals with pending vaccines and pagination metadata
      */
-    public Map<String, Object> getAnimalsWithPendingVaccines(Long userId, Pageable pageable) {
+    public PageResponse<AnimalDTO> getAnimalsWithPendingVaccines(Long userId, Pageable pageable) {
         // Get current date
         LocalDate currentDate = LocalDate.now();
         
@@ -318,12 +369,11 @@ public class VaccineService {
                 .collect(Collectors.toList());
         
         // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("animals", animals);
-        response.put("currentPage", animalPage.getNumber());
-        response.put("totalItems", animalPage.getTotalElements());
-        response.put("totalPages", animalPage.getTotalPages());
-        
-        return response;
+        return PageResponse.of("animals", animalPage, animals);
+    }
+
+    private void publish(ChangeType change, Long vaccineId, Long animalId, Long userId, VaccineDTO data) {
+        eventPublisher.publishEvent(
+                new EntityChangedEvent(ResourceType.VACCINE, change, vaccineId, animalId, userId, data));
     }
 }
@@ -0,0 +1,58 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 style parser for a single CSV record.
+ * Quoted values may contain commas and escaped quotes ("") but not line breaks.
+ */
+public final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    /**
+     * Split a CSV line into its values
+     *
+     * @param line CSV record without line terminator
+     * @return List of unquoted values
+     * @throws IllegalArgumentException if a quoted value is not closed
+     */
+    public static List<String> parse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.util;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Entity tags built from the @Version of an entity. The version changes on
+ * every update, so it identifies a state of the resource without hashing
+ * the response body.
+ */
+public class ETagUtils {
+
+    /**
+     * Strong ETag for a version, e.g. "3"
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Response headers carrying the ETag of a version
+     */
+    public static HttpHeaders headers(long version) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(of(version));
+        return headers;
+    }
+
+    /**
+     * Version expected by an If-Match header
+     *
+     * @param ifMatch Header value, may be null
+     * @return The version, or null when the header is absent or "*"
+     * @throws IllegalArgumentException if the header is not a single strong ETag
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match debe contener un único ETag fuerte, p. ej. \"3\"");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match debe contener un único ETag fuerte, p. ej. \"3\"");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.util;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Applies JSON Merge Patch (RFC 7396) documents to the flat request DTOs.
+ * Members present in the patch replace the current value, null clears it and
+ * absent members are left untouched. Only the patched properties are
+ * validated, so a small patch is not rejected because of an unrelated value
+ * that was accepted in the past.
+ */
+@Component
+public class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public JsonMergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Patch target in place
+     *
+     * @param target Request describing the current state of the resource
+     * @param patch  Merge patch document, must be a JSON object
+     * @return The patched target
+     * @throws IllegalArgumentException     if the patch is not an object or names unknown fields
+     * @throws ConstraintViolationException if a patched value is not valid
+     */
+    public <T> T apply(T target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("El documento de parche debe ser un objeto JSON");
+        }
+
+        try {
+            objectMapper.readerForUpdating(target)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (UnrecognizedPropertyException e) {
+            throw new IllegalArgumentException("Campo desconocido en el parche: " + e.getPropertyName(), e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Valor no válido en el parche: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se pudo aplicar el parche", e);
+        }
+
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext();) {
+            violations.addAll(validator.validateProperty(target, names.next()));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return target;
+    }
+}
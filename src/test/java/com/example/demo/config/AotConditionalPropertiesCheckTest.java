@@ -0,0 +1,71 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.mock.env.MockEnvironment;
+
+class AotConditionalPropertiesCheckTest {
+
+	@Test
+	void acceptsTheBuildTimeValues() {
+		Properties recorded = AotConditionalPropertiesCheck.currentValues(new MockEnvironment()
+				.withProperty("invalidation.channel", "udp"));
+
+		assertThat(AotConditionalPropertiesCheck.mismatches(recorded, new MockEnvironment()
+				.withProperty("invalidation.channel", "UDP")
+				.withProperty("reminders.enabled", "true"))).isEmpty();
+	}
+
+	@Test
+	void reportsEachChangedProperty() {
+		Properties recorded = AotConditionalPropertiesCheck.currentValues(new MockEnvironment());
+
+		assertThat(AotConditionalPropertiesCheck.mismatches(recorded, new MockEnvironment()
+				.withProperty("reminders.enabled", "false")
+				.withProperty("jackson.blackbird.enabled", "false")))
+				.containsExactly("jackson.blackbird.enabled=false (built with true)",
+						"reminders.enabled=false (built with true)");
+	}
+
+	@Test
+	void coversEveryConditionalProperty() {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter((reader, factory) -> true);
+		Set<String> names = new HashSet<>();
+		for (BeanDefinition candidate : scanner.findCandidateComponents("com.example.demo")) {
+			AnnotationMetadata metadata = ((AnnotatedBeanDefinition) candidate).getMetadata();
+			addNames(metadata.getAnnotationAttributes(ConditionalOnProperty.class.getName()), names);
+			for (MethodMetadata method : metadata.getAnnotatedMethods(ConditionalOnProperty.class.getName())) {
+				addNames(method.getAnnotationAttributes(ConditionalOnProperty.class.getName()), names);
+			}
+		}
+
+		assertThat(AotConditionalPropertiesCheck.PROPERTIES.keySet()).containsExactlyInAnyOrderElementsOf(names);
+	}
+
+	private static void addNames(Map<String, Object> attributes, Set<String> names) {
+		if (attributes == null) {
+			return;
+		}
+		String prefix = (String) attributes.get("prefix");
+		String[] declared = ((String[]) attributes.get("name")).length > 0
+				? (String[]) attributes.get("name") : (String[]) attributes.get("value");
+		Arrays.stream(declared)
+				.map(name -> prefix.isEmpty() ? name : prefix.endsWith(".") ? prefix + name : prefix + "." + name)
+				.forEach(names::add);
+	}
+
+}
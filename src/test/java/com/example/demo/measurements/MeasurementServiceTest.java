@@ -0,0 +1,202 @@
+package com.example.demo.measurements;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.demo.enums.AnimalType;
+import com.example.demo.enums.MeasurementGranularity;
+import com.example.demo.enums.MeasurementType;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repositories.AnimalRepository;
+
+class MeasurementServiceTest {
+
+	private static final Long USER_ID = 1L;
+	private static final Long DOG_ID = 10L;
+	private static final Long FISH_ID = 11L;
+
+	private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+	private static final LocalDate TO = LocalDate.of(2024, 4, 30);
+
+	// 2024-03-04 is a Monday
+	private static final List<MeasurementReading> WEIGHTS = List.of(
+			weight("2024-03-04T08:00:00Z", 10.0),
+			weight("2024-03-04T20:00:00Z", 12.0),
+			weight("2024-03-06T09:30:00Z", 11.0),
+			weight("2024-04-01T09:30:00Z", 14.0));
+
+	private String url;
+	private DataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private AnimalRepository animalRepository;
+	private MeasurementService service;
+
+	@BeforeEach
+	void setUp() {
+		url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+		dataSource = new DriverManagerDataSource(url);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE measurements (animal_id BIGINT NOT NULL, type INT NOT NULL, "
+				+ "measured_at TIMESTAMP(3) NOT NULL, reading DOUBLE NOT NULL, "
+				+ "PRIMARY KEY (animal_id, type, measured_at))");
+		jdbcTemplate.execute("CREATE TABLE measurement_rollups (animal_id BIGINT NOT NULL, type INT NOT NULL, "
+				+ "granularity INT NOT NULL, bucket_start DATE NOT NULL, sample_count INT NOT NULL, "
+				+ "value_sum DOUBLE NOT NULL, min_value DOUBLE NOT NULL, max_value DOUBLE NOT NULL, "
+				+ "PRIMARY KEY (animal_id, type, granularity, bucket_start))");
+
+		animalRepository = mock(AnimalRepository.class);
+		when(animalRepository.findOwnedByIdIn(any(), eq(USER_ID))).thenReturn(List.of(
+				new OwnedAnimal(DOG_ID, AnimalType.DOG),
+				new OwnedAnimal(FISH_ID, AnimalType.FISH)));
+		when(animalRepository.existsByIdAndUserId(DOG_ID, USER_ID)).thenReturn(true);
+
+		service = new MeasurementService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+				animalRepository, 100);
+	}
+
+	private static MeasurementReading weight(String measuredAt, double value) {
+		return new MeasurementReading(DOG_ID, MeasurementType.WEIGHT, value, Instant.parse(measuredAt));
+	}
+
+	private List<MeasurementBucket> buckets(MeasurementGranularity granularity) {
+		return service.getBuckets(DOG_ID, USER_ID, MeasurementType.WEIGHT, granularity, FROM, TO);
+	}
+
+	private int storedReadings() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM measurements", Integer.class);
+	}
+
+	@Test
+	void rollsReadingsUpByDayWeekAndMonth() {
+		assertThat(service.ingest(WEIGHTS, USER_ID)).isEqualTo(new MeasurementIngestResult(4, 4, 0));
+
+		assertThat(buckets(MeasurementGranularity.DAY)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 4), 2, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 3, 6), 1, 11.0, 11.0, 11.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+		assertThat(buckets(MeasurementGranularity.WEEK)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 4), 3, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+		assertThat(buckets(MeasurementGranularity.MONTH)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 1), 3, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+	}
+
+	@Test
+	void mergesLaterBatchesIntoExistingBuckets() {
+		service.ingest(WEIGHTS.subList(0, 2), USER_ID);
+		service.ingest(WEIGHTS.subList(2, 4), USER_ID);
+
+		assertThat(buckets(MeasurementGranularity.WEEK)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 4), 3, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+	}
+
+	@Test
+	void resendingABatchSkipsStoredReadings() {
+		service.ingest(WEIGHTS.subList(0, 3), USER_ID);
+
+		assertThat(service.ingest(WEIGHTS, USER_ID)).isEqualTo(new MeasurementIngestResult(4, 1, 3));
+		assertThat(service.ingest(WEIGHTS, USER_ID)).isEqualTo(new MeasurementIngestResult(4, 0, 4));
+
+		assertThat(storedReadings()).isEqualTo(4);
+		assertThat(buckets(MeasurementGranularity.MONTH)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 1), 3, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+	}
+
+	@Test
+	void retriesWhenAConcurrentRequestStoresTheSameReadings() {
+		AtomicBoolean raced = new AtomicBoolean();
+		JdbcTemplate racingTemplate = new JdbcTemplate(dataSource) {
+			@Override
+			public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+				// Another request commits the first reading after this one checked for it. Its own
+				// DataSource instance keeps it out of the transaction bound to this thread.
+				if (sql.startsWith("INSERT INTO measurements") && raced.compareAndSet(false, true)) {
+					DataSource otherDataSource = new DriverManagerDataSource(url);
+					new MeasurementService(new JdbcTemplate(otherDataSource),
+							new DataSourceTransactionManager(otherDataSource), animalRepository, 100)
+							.ingest(WEIGHTS.subList(0, 1), USER_ID);
+				}
+				return super.batchUpdate(sql, batchArgs);
+			}
+		};
+		service = new MeasurementService(racingTemplate, new DataSourceTransactionManager(dataSource),
+				animalRepository, 100);
+
+		assertThat(service.ingest(WEIGHTS, USER_ID)).isEqualTo(new MeasurementIngestResult(4, 3, 1));
+
+		assertThat(storedReadings()).isEqualTo(4);
+		assertThat(buckets(MeasurementGranularity.MONTH)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 1), 3, 11.0, 10.0, 12.0),
+				new MeasurementBucket(LocalDate.of(2024, 4, 1), 1, 14.0, 14.0, 14.0));
+	}
+
+	@Test
+	void keepsTheLastReadingForTheSameTimeInABatch() {
+		MeasurementIngestResult result = service.ingest(List.of(
+				weight("2024-03-04T08:00:00Z", 10.0),
+				weight("2024-03-04T08:00:00Z", 10.5)), USER_ID);
+
+		assertThat(result).isEqualTo(new MeasurementIngestResult(2, 1, 1));
+		assertThat(buckets(MeasurementGranularity.DAY)).containsExactly(
+				new MeasurementBucket(LocalDate.of(2024, 3, 4), 1, 10.5, 10.5, 10.5));
+	}
+
+	@Test
+	void rejectsTypesThatDoNotApplyToTheAnimal() {
+		List<MeasurementReading> readings = List.of(
+				new MeasurementReading(FISH_ID, MeasurementType.PH_LEVEL, 7.2, Instant.parse("2024-03-04T08:00:00Z")),
+				new MeasurementReading(DOG_ID, MeasurementType.WATER_TEMPERATURE, 24.0,
+						Instant.parse("2024-03-04T08:00:00Z")));
+
+		assertThatThrownBy(() -> service.ingest(readings, USER_ID))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Medición 1");
+		assertThat(storedReadings()).isZero();
+	}
+
+	@Test
+	void rejectsAnimalsOfOtherUsers() {
+		List<MeasurementReading> readings = List.of(
+				new MeasurementReading(99L, MeasurementType.WEIGHT, 5.0, Instant.parse("2024-03-04T08:00:00Z")));
+
+		assertThatThrownBy(() -> service.ingest(readings, USER_ID))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> service.getBuckets(99L, USER_ID, MeasurementType.WEIGHT,
+				MeasurementGranularity.DAY, FROM, TO))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(storedReadings()).isZero();
+	}
+
+	@Test
+	void rejectsReadingsInTheFuture() {
+		List<MeasurementReading> readings = List.of(new MeasurementReading(DOG_ID, MeasurementType.WEIGHT, 5.0,
+				Instant.now().plus(1, ChronoUnit.HOURS)));
+
+		assertThatThrownBy(() -> service.ingest(readings, USER_ID))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(storedReadings()).isZero();
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.cluster.CacheInvalidation;
+import com.example.demo.dto.AnimalDTO;
+import com.example.demo.dto.HealthIssueDTO;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.repositories.AnimalRepository;
+import com.example.demo.repositories.HealthIssueRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NameSearchIndexTest {
+
+	private static final Long USER_ID = 1L;
+
+	private AnimalRepository animalRepository;
+	private HealthIssueRepository healthIssueRepository;
+	private NameSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		animalRepository = mock(AnimalRepository.class);
+		healthIssueRepository = mock(HealthIssueRepository.class);
+		when(animalRepository.findNameRowsByUserId(USER_ID)).thenReturn(List.of(
+				new NameRow(10L, 10L, "Rocky"),
+				new NameRow(11L, 11L, "Rocket")));
+		when(healthIssueRepository.findNameRowsByUserId(USER_ID)).thenReturn(List.of(
+				new NameRow(100L, 10L, "Otitis"),
+				new NameRow(101L, 10L, "Otitis media"),
+				new NameRow(102L, 11L, "Otitis")));
+		index = new NameSearchIndex(animalRepository, healthIssueRepository, new SimpleMeterRegistry(), 100, 300);
+	}
+
+	@Test
+	void loadsTheUserOnTheFirstSearchOnly() {
+		assertThat(index.findAnimalIds(USER_ID, "rock")).containsExactly(10L, 11L);
+		assertThat(index.findAnimalIds(USER_ID, "ket")).containsExactly(11L);
+
+		verify(animalRepository, times(1)).findNameRowsByUserId(USER_ID);
+	}
+
+	@Test
+	void filtersHealthIssuesByAnimal() {
+		assertThat(index.findHealthIssueIds(USER_ID, 10L, "otitis")).containsExactly(100L, 101L);
+		assertThat(index.findHealthIssueIds(USER_ID, 11L, "otitis")).containsExactly(102L);
+		assertThat(index.findHealthIssueIds(USER_ID, 11L, "media")).isEmpty();
+	}
+
+	@Test
+	void appliesCommittedChangesToALoadedIndex() {
+		index.findAnimalIds(USER_ID, "rock");
+
+		AnimalDTO renamed = new AnimalDTO();
+		renamed.setName("Bruno");
+		index.onEntityChanged(new EntityChangedEvent(ResourceType.ANIMAL, ChangeType.UPDATED, 11L, 11L, USER_ID,
+				renamed));
+		HealthIssueDTO issue = new HealthIssueDTO();
+		issue.setName("Dermatitis");
+		index.onEntityChanged(new EntityChangedEvent(ResourceType.HEALTH_ISSUE, ChangeType.CREATED, 103L, 11L,
+				USER_ID, issue));
+
+		assertThat(index.findAnimalIds(USER_ID, "rock")).containsExactly(10L);
+		assertThat(index.findAnimalIds(USER_ID, "bru")).containsExactly(11L);
+		assertThat(index.findHealthIssueIds(USER_ID, 11L, "derma")).containsExactly(103L);
+		verify(animalRepository, times(1)).findNameRowsByUserId(USER_ID);
+	}
+
+	@Test
+	void deletingAnAnimalRemovesItsHealthIssues() {
+		index.findAnimalIds(USER_ID, "rock");
+
+		index.onEntityChanged(new EntityChangedEvent(ResourceType.ANIMAL, ChangeType.DELETED, 10L, 10L, USER_ID,
+				null));
+
+		assertThat(index.findAnimalIds(USER_ID, "rock")).containsExactly(11L);
+		assertThat(index.findHealthIssueIds(USER_ID, 10L, "otitis")).isEmpty();
+		assertThat(index.findHealthIssueIds(USER_ID, 11L, "otitis")).containsExactly(102L);
+	}
+
+	@Test
+	void ignoresChangesOfUsersNotLoaded() {
+		AnimalDTO animal = new AnimalDTO();
+		animal.setName("Bruno");
+		index.onEntityChanged(new EntityChangedEvent(ResourceType.ANIMAL, ChangeType.CREATED, 12L, 12L, USER_ID,
+				animal));
+
+		// The change is not kept: the first search loads the user from the database
+		assertThat(index.findAnimalIds(USER_ID, "bru")).isEmpty();
+	}
+
+	@Test
+	void remoteChangesReloadTheUser() {
+		index.findAnimalIds(USER_ID, "rock");
+		when(animalRepository.findNameRowsByUserId(USER_ID)).thenReturn(List.of(new NameRow(10L, 10L, "Rocky")));
+
+		index.onRemoteChange(new CacheInvalidation(ResourceType.ANIMAL, ChangeType.DELETED, 11L, 11L, USER_ID));
+
+		assertThat(index.findAnimalIds(USER_ID, "rock")).containsExactly(10L);
+		verify(animalRepository, times(2)).findNameRowsByUserId(USER_ID);
+	}
+
+	@Test
+	void reloadsTheUserOnceTheIndexExpires() {
+		index = new NameSearchIndex(animalRepository, healthIssueRepository, new SimpleMeterRegistry(), 100, 0);
+
+		index.findAnimalIds(USER_ID, "rock");
+		index.findAnimalIds(USER_ID, "rock");
+
+		verify(animalRepository, times(2)).findNameRowsByUserId(USER_ID);
+	}
+}
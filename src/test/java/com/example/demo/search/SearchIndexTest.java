@@ -0,0 +1,63 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.enums.ResourceType;
+
+class SearchIndexTest {
+
+	private SearchIndex index;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		index = new SearchIndex("");
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		index.close();
+	}
+
+	private static SearchRow row(long id, long animalId, String title) {
+		return new SearchRow(id, animalId, 1L, title, "");
+	}
+
+	private List<String> titles() {
+		index.refresh();
+		return index.search(new MatchAllDocsQuery(), 10).stream().map(SearchHit::title).sorted().toList();
+	}
+
+	@Test
+	void deletesDocumentsNotRewrittenSinceTheGenerationStarted() {
+		index.upsert(ResourceType.ANIMAL, row(1, 1, "Rocky"));
+		index.upsert(ResourceType.ANIMAL, row(2, 2, "Luna"));
+		index.upsert(ResourceType.VACCINE, row(3, 2, "Rabia"));
+
+		long generation = index.nextGeneration();
+		index.upsert(ResourceType.ANIMAL, row(1, 1, "Rocky"));
+		index.upsert(ResourceType.ANIMAL, row(4, 4, "Max"));
+		index.deleteOlderThan(generation);
+
+		assertThat(titles()).containsExactly("Max", "Rocky");
+	}
+
+	@Test
+	void deletingAnAnimalRemovesItsDocuments() {
+		index.upsert(ResourceType.ANIMAL, row(1, 1, "Rocky"));
+		index.upsert(ResourceType.VACCINE, row(3, 1, "Rabia"));
+		index.upsert(ResourceType.ANIMAL, row(2, 2, "Luna"));
+
+		index.deleteAnimal(1L);
+
+		assertThat(titles()).containsExactly("Luna");
+	}
+
+}
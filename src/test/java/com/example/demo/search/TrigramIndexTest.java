@@ -0,0 +1,113 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+	@Test
+	void findsNamesContainingTheQueryIgnoringCase() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Rocky");
+		index.put(2, "Rocket");
+		index.put(3, "Luna");
+
+		assertThat(index.search("ROCK")).containsExactly(1, 2);
+		assertThat(index.search("ocke")).containsExactly(2);
+		assertThat(index.search("lun")).containsExactly(3);
+		assertThat(index.search("max")).isEmpty();
+	}
+
+	@Test
+	void ignoresAccents() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Ñoño");
+		index.put(2, "José Pérez");
+
+		assertThat(index.search("nono")).containsExactly(1);
+		assertThat(index.search("ÑOÑ")).containsExactly(1);
+		assertThat(index.search("perez")).containsExactly(2);
+		assertThat(index.search("Pé")).containsExactly(2);
+	}
+
+	@Test
+	void scansNamesForQueriesShorterThanATrigram() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(3, "Toro");
+		index.put(1, "Rocky");
+		index.put(2, "Luna");
+
+		assertThat(index.search("ro")).containsExactly(1, 3);
+		assertThat(index.search("a")).containsExactly(2);
+		assertThat(index.search("")).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void rejectsCandidatesWhoseTrigramsAreNotContiguous() {
+		TrigramIndex index = new TrigramIndex();
+		// Contains both trigrams of "abcd" (abc, bcd), but not "abcd" itself
+		index.put(1, "abcxbcd");
+
+		assertThat(index.search("abcd")).isEmpty();
+		assertThat(index.search("xbc")).containsExactly(1);
+	}
+
+	@Test
+	void keepsPostingListsSortedWhateverTheInsertionOrder() {
+		TrigramIndex index = new TrigramIndex();
+		long[] ids = { 50, 7, 31, 2, 99, 18 };
+		for (long id : ids) {
+			index.put(id, "Bella " + id);
+		}
+
+		assertThat(index.search("bella")).containsExactly(2, 7, 18, 31, 50, 99);
+
+		index.remove(31);
+		index.remove(2);
+		index.remove(99);
+		assertThat(index.search("bella")).containsExactly(7, 18, 50);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void removeDropsTheNameAndIgnoresUnknownIds() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Coco");
+		index.put(2, "Cocoa");
+
+		index.remove(1);
+		index.remove(42);
+
+		assertThat(index.search("coco")).containsExactly(2);
+		assertThat(index.search("co")).containsExactly(2);
+		assertThat(index.size()).isEqualTo(1);
+
+		index.remove(2);
+		assertThat(index.search("coco")).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void putReplacesThePreviousName() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Simba");
+
+		index.put(1, "Nala");
+
+		assertThat(index.search("simba")).isEmpty();
+		assertThat(index.search("nala")).containsExactly(1);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void intersectsPostingListsOfDifferentLengths() {
+		TrigramIndex index = new TrigramIndex();
+		for (long id = 1; id <= 20; id++) {
+			index.put(id, id % 5 == 0 ? "Max the dog " + id : "Maximus " + id);
+		}
+
+		// "max" is in every name, "x t" only in every fifth
+		assertThat(index.search("max the")).containsExactly(5, 10, 15, 20);
+	}
+}
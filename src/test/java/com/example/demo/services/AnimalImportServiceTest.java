@@ -0,0 +1,275 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.demo.audit.AuditEntry;
+import com.example.demo.audit.AuditWriter;
+import com.example.demo.dto.AnimalImportResultDTO;
+import com.example.demo.entities.User;
+import com.example.demo.enums.ChangeType;
+import com.example.demo.enums.ImportFormat;
+import com.example.demo.enums.ResourceType;
+import com.example.demo.events.AnimalsImportedEvent;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxWriter;
+import com.example.demo.repositories.UserRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.validation.Validation;
+
+class AnimalImportServiceTest {
+
+	private static final Long USER_ID = 1L;
+
+	private static final String CREATE_TABLE = "CREATE TABLE animals ("
+			+ "id BIGINT AUTO_INCREMENT PRIMARY KEY, animal_type VARCHAR(31) NOT NULL, "
+			+ "name VARCHAR(255), birth_date DATE, registration_date DATE, weight_kg DOUBLE, "
+			+ "color VARCHAR(255), notes VARCHAR(1000), diet VARCHAR(255), gender VARCHAR(255), "
+			+ "neutered BOOLEAN, last_deworming DATE, user_id BIGINT, "
+			+ "breed VARCHAR(255), size VARCHAR(255), coat_type VARCHAR(255), pedigree BOOLEAN, indoor_only BOOLEAN, "
+			+ "species VARCHAR(255), clipped_wings BOOLEAN, talking_ability BOOLEAN, "
+			+ "habitat_type VARCHAR(255), temp_requirements VARCHAR(255), venomous BOOLEAN, "
+			+ "water_type VARCHAR(255), water_temperature DOUBLE, ph_level DOUBLE, social_behavior VARCHAR(255), "
+			+ "cage_trained BOOLEAN, lifespan_years INT, teeth_condition VARCHAR(255), version BIGINT)";
+
+	private static final String CREATE_OUTBOX_TABLE = "CREATE TABLE outbox_events ("
+			+ "id BIGINT AUTO_INCREMENT PRIMARY KEY, resource_type VARCHAR(31) NOT NULL, resource_id BIGINT, "
+			+ "animal_id BIGINT, user_id BIGINT NOT NULL, change_type VARCHAR(31) NOT NULL, "
+			+ "payload CLOB NOT NULL, created_at TIMESTAMP NOT NULL)";
+
+	private final JsonMapper objectMapper = JsonMapper.builder()
+			.findAndAddModules()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	private JdbcTemplate jdbcTemplate;
+	private UserRepository userRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private AuditWriter auditWriter;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute(CREATE_TABLE);
+		jdbcTemplate.execute(CREATE_OUTBOX_TABLE);
+
+		User owner = new User("Ana", "García", "ana@example.com", "secret");
+		owner.setId(USER_ID);
+		userRepository = mock(UserRepository.class);
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		auditWriter = mock(AuditWriter.class);
+	}
+
+	private AnimalImportService service(int batchSize) {
+		return new AnimalImportService(jdbcTemplate, new DataSourceTransactionManager(jdbcTemplate.getDataSource()),
+				userRepository, objectMapper, Validation.buildDefaultValidatorFactory().getValidator(),
+				eventPublisher, new OutboxWriter(jdbcTemplate, objectMapper), auditWriter, batchSize);
+	}
+
+	private List<Long> animalIds() {
+		return jdbcTemplate.queryForList("SELECT id FROM animals ORDER BY id", Long.class);
+	}
+
+	private List<Long> outboxAnimalIds() {
+		return jdbcTemplate.queryForList("SELECT resource_id FROM outbox_events ORDER BY resource_id", Long.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<AuditEntry> auditedEntries() {
+		ArgumentCaptor<Collection<AuditEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(auditWriter, atLeastOnce()).enqueue(captor.capture());
+		List<AuditEntry> entries = new ArrayList<>();
+		captor.getAllValues().forEach(entries::addAll);
+		return entries;
+	}
+
+	private static ByteArrayInputStream body(String... lines) {
+		return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String dog(String name, String notes) {
+		return "{\"animalType\":\"DOG\",\"name\":\"" + name + "\",\"birthDate\":\"2020-01-01\","
+				+ "\"gender\":\"M\",\"breed\":\"Beagle\",\"pedigree\":true,\"notes\":\"" + notes + "\"}";
+	}
+
+	@Test
+	void importsValidNdjsonRowsAndReportsInvalidOnesByLine() throws IOException {
+		AnimalImportResultDTO result = service(2).importAnimals(body(
+				dog("Rocky", ""),
+				"{\"animalType\":\"CAT\",\"name\":\"Mia\",\"birthDate\":\"2021-05-01\",\"gender\":\"F\",\"indoorOnly\":true}",
+				"",
+				"{not json",
+				"{\"animalType\":\"FISH\",\"birthDate\":\"2022-01-01\",\"gender\":\"M\"}",
+				"{\"animalType\":\"OTHER\",\"name\":\"X\",\"birthDate\":\"2022-01-01\",\"gender\":\"M\"}",
+				"{\"animalType\":\"FISH\",\"name\":\"Nemo\",\"birthDate\":\"2022-01-01\",\"gender\":\"M\",\"waterType\":\"salada\"}"),
+				ImportFormat.NDJSON, USER_ID);
+
+		assertThat(result.getTotalRows()).isEqualTo(6);
+		assertThat(result.getImportedRows()).isEqualTo(3);
+		assertThat(result.getFailedRows()).isEqualTo(3);
+		assertThat(result.getErrors()).extracting(AnimalImportResultDTO.RowError::getLine)
+				.containsExactly(4L, 5L, 6L);
+
+		Map<String, Object> dog = jdbcTemplate.queryForMap("SELECT * FROM animals WHERE name = 'Rocky'");
+		assertThat(dog.get("BREED")).isEqualTo("Beagle");
+		assertThat(dog.get("PEDIGREE")).isEqualTo(true);
+		assertThat(dog.get("INDOOR_ONLY")).isNull();
+		assertThat(dog.get("USER_ID")).isEqualTo(USER_ID);
+		assertThat(jdbcTemplate.queryForObject("SELECT water_type FROM animals WHERE name = 'Nemo'", String.class))
+				.isEqualTo("salada");
+
+		verify(eventPublisher).publishEvent(new AnimalsImportedEvent(USER_ID, 3));
+	}
+
+	@Test
+	void importsCsvRowsWithQuotedValues() throws IOException {
+		AnimalImportResultDTO result = service(500).importAnimals(body(
+				"animalType,name,birthDate,gender,notes",
+				"DOG,\"Rocky, el grande\",2020-01-01,M,\"dice \"\"guau\"\"\"",
+				"BIRD,Piolín,2019-03-02,F,",
+				"DOG,Sin fecha,,M,",
+				"DOG,Rex,2020-01-01,M,,extra"),
+				ImportFormat.CSV, USER_ID);
+
+		assertThat(result.getImportedRows()).isEqualTo(2);
+		assertThat(result.getErrors()).extracting(AnimalImportResultDTO.RowError::getLine)
+				.containsExactly(4L, 5L);
+		assertThat(jdbcTemplate.queryForList("SELECT name FROM animals ORDER BY id", String.class))
+				.containsExactly("Rocky, el grande", "Piolín");
+		assertThat(jdbcTemplate.queryForObject("SELECT notes FROM animals WHERE animal_type = 'DOG'", String.class))
+				.isEqualTo("dice \"guau\"");
+	}
+
+	@Test
+	void failsOnlyTheRowThatDoesNotFitItsColumn() throws IOException {
+		AnimalImportResultDTO result = service(3).importAnimals(body(
+				dog("Uno", ""),
+				dog("Dos", "x".repeat(1001)),
+				dog("Tres", "")),
+				ImportFormat.NDJSON, USER_ID);
+
+		assertThat(result.getImportedRows()).isEqualTo(2);
+		assertThat(result.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getLine()).isEqualTo(2L);
+			assertThat(error.getMessages()).singleElement().asString().startsWith("Error al guardar la fila");
+		});
+		assertThat(jdbcTemplate.queryForList("SELECT name FROM animals ORDER BY id", String.class))
+				.containsExactly("Uno", "Tres");
+		assertThat(outboxAnimalIds()).isEqualTo(animalIds());
+		assertThat(auditedEntries()).extracting(AuditEntry::resourceId).isEqualTo(animalIds());
+	}
+
+	@Test
+	void recordsEachImportedAnimalInTheOutbox() throws Exception {
+		service(2).importAnimals(body(dog("Rocky", "tranquilo"), dog("Luna", ""), dog("Max", "")),
+				ImportFormat.NDJSON, USER_ID);
+
+		assertThat(outboxAnimalIds()).hasSize(3).isEqualTo(animalIds());
+		Map<String, Object> message = jdbcTemplate.queryForMap(
+				"SELECT * FROM outbox_events WHERE resource_id = (SELECT id FROM animals WHERE name = 'Rocky')");
+		assertThat(message.get("RESOURCE_TYPE")).isEqualTo("ANIMAL");
+		assertThat(message.get("CHANGE_TYPE")).isEqualTo("CREATED");
+		assertThat(message.get("USER_ID")).isEqualTo(USER_ID);
+		assertThat(message.get("ANIMAL_ID")).isEqualTo(message.get("RESOURCE_ID"));
+
+		JsonNode data = objectMapper.readTree((String) message.get("PAYLOAD")).get("data");
+		assertThat(data.get("id").asLong()).isEqualTo(message.get("RESOURCE_ID"));
+		assertThat(data.get("name").asText()).isEqualTo("Rocky");
+		assertThat(data.get("notes").asText()).isEqualTo("tranquilo");
+		assertThat(data.get("birthDate").asText()).isEqualTo("2020-01-01");
+		assertThat(data.get("owner").get("email").asText()).isEqualTo("ana@example.com");
+		assertThat(data.get("specificFields").get("breed").asText()).isEqualTo("Beagle");
+	}
+
+	@Test
+	void auditsTheCreationOfEachImportedAnimal() throws IOException {
+		service(2).importAnimals(body(dog("Rocky", ""), dog("Luna", ""), dog("Max", "")),
+				ImportFormat.NDJSON, USER_ID);
+
+		List<AuditEntry> entries = auditedEntries();
+		assertThat(entries).extracting(AuditEntry::resourceId).isEqualTo(animalIds());
+		assertThat(entries).allSatisfy(entry -> {
+			assertThat(entry.resource()).isEqualTo(ResourceType.ANIMAL);
+			assertThat(entry.action()).isEqualTo(ChangeType.CREATED);
+			assertThat(entry.animalId()).isEqualTo(entry.resourceId());
+			assertThat(entry.actorId()).isEqualTo(USER_ID);
+		});
+
+		// Every column written, as a change from null; columns of other animal types are left out
+		Map<String, AuditEntry.FieldChange> changes = entries.get(0).changes();
+		assertThat(changes.get("name")).isEqualTo(new AuditEntry.FieldChange(null, "Rocky"));
+		assertThat(changes.get("birthDate")).isEqualTo(new AuditEntry.FieldChange(null, LocalDate.of(2020, 1, 1)));
+		assertThat(changes.get("user")).isEqualTo(new AuditEntry.FieldChange(null, USER_ID));
+		assertThat(changes.get("breed")).isEqualTo(new AuditEntry.FieldChange(null, "Beagle"));
+		assertThat(changes).doesNotContainKeys("species", "indoorOnly");
+	}
+
+	@Test
+	void announcesCommittedBatchesWhenTheUploadFails() {
+		InputStream truncated = new SequenceInputStream(
+				body(dog("Uno", ""), dog("Dos", ""), dog("Tres", ""), ""),
+				new InputStream() {
+					@Override
+					public int read() throws IOException {
+						throw new IOException("Connection reset");
+					}
+				});
+
+		assertThatThrownBy(() -> service(2).importAnimals(truncated, ImportFormat.NDJSON, USER_ID))
+				.isInstanceOf(IOException.class);
+
+		assertThat(jdbcTemplate.queryForList("SELECT name FROM animals ORDER BY id", String.class))
+				.containsExactly("Uno", "Dos");
+		assertThat(outboxAnimalIds()).isEqualTo(animalIds());
+		verify(eventPublisher).publishEvent(new AnimalsImportedEvent(USER_ID, 2));
+	}
+
+	@Test
+	void rejectsEmptyCsvAndUnknownUser() {
+		assertThatThrownBy(() -> service(500).importAnimals(body(), ImportFormat.CSV, USER_ID))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service(500).importAnimals(body(dog("Rocky", "")), ImportFormat.NDJSON, 2L))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM animals", Integer.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class)).isZero();
+		verify(eventPublisher, never()).publishEvent(any());
+		verify(auditWriter, never()).enqueue(anyCollection());
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.example.demo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class CsvLineParserTest {
+
+	@Test
+	void splitsPlainValues() {
+		assertThat(CsvLineParser.parse("Luna,DOG,2020-01-01")).containsExactly("Luna", "DOG", "2020-01-01");
+	}
+
+	@Test
+	void keepsCommasInsideQuotedValues() {
+		assertThat(CsvLineParser.parse("\"Luna, la grande\",DOG")).containsExactly("Luna, la grande", "DOG");
+	}
+
+	@Test
+	void unescapesDoubledQuotes() {
+		assertThat(CsvLineParser.parse("\"dice \"\"guau\"\"\",x")).containsExactly("dice \"guau\"", "x");
+	}
+
+	@Test
+	void keepsEmptyValues() {
+		assertThat(CsvLineParser.parse("a,,b,")).containsExactly("a", "", "b", "");
+		assertThat(CsvLineParser.parse("")).containsExactly("");
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() {
+		assertThatThrownBy(() -> CsvLineParser.parse("\"Luna,DOG"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
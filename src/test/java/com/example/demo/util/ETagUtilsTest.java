@@ -0,0 +1,38 @@
+package com.example.demo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ETagUtilsTest {
+
+	@Test
+	void formatsVersionAsStrongETag() {
+		assertThat(ETagUtils.of(3)).isEqualTo("\"3\"");
+		assertThat(ETagUtils.headers(3).getETag()).isEqualTo("\"3\"");
+	}
+
+	@Test
+	void parsesStrongETag() {
+		assertThat(ETagUtils.parseIfMatch("\"3\"")).isEqualTo(3L);
+		assertThat(ETagUtils.parseIfMatch(" \"42\" ")).isEqualTo(42L);
+	}
+
+	@Test
+	void treatsMissingHeaderAndWildcardAsUnconditional() {
+		assertThat(ETagUtils.parseIfMatch(null)).isNull();
+		assertThat(ETagUtils.parseIfMatch(" ")).isNull();
+		assertThat(ETagUtils.parseIfMatch("*")).isNull();
+	}
+
+	@Test
+	void rejectsMalformedHeaders() {
+		for (String header : new String[] { "3", "\"\"", "W/\"3\"", "\"abc\"", "\"3\", \"4\"" }) {
+			assertThatThrownBy(() -> ETagUtils.parseIfMatch(header))
+					.as(header)
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+}
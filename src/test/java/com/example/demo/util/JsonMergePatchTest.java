@@ -0,0 +1,98 @@
+package com.example.demo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.AnimalRequestDTO;
+import com.example.demo.enums.AnimalType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+
+class JsonMergePatchTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final JsonMergePatch mergePatch = new JsonMergePatch(objectMapper,
+			Validation.buildDefaultValidatorFactory().getValidator());
+
+	private AnimalRequestDTO target;
+
+	@BeforeEach
+	void setUp() {
+		target = new AnimalRequestDTO();
+		target.setAnimalType(AnimalType.DOG);
+		target.setName("Rocky");
+		target.setBirthDate(LocalDate.of(2020, 1, 1));
+		target.setGender("M");
+		target.setWeightKg(12.5);
+	}
+
+	private JsonNode json(String value) throws Exception {
+		return objectMapper.readTree(value);
+	}
+
+	@Test
+	void replacesOnlyThePatchedFields() throws Exception {
+		mergePatch.apply(target, json("{\"name\":\"Max\",\"birthDate\":\"2019-06-15\"}"));
+
+		assertThat(target.getName()).isEqualTo("Max");
+		assertThat(target.getBirthDate()).isEqualTo(LocalDate.of(2019, 6, 15));
+		assertThat(target.getGender()).isEqualTo("M");
+		assertThat(target.getWeightKg()).isEqualTo(12.5);
+	}
+
+	@Test
+	void nullClearsAField() throws Exception {
+		mergePatch.apply(target, json("{\"weightKg\":null}"));
+
+		assertThat(target.getWeightKg()).isNull();
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThatThrownBy(() -> mergePatch.apply(target, json("{\"owner\":2}")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("owner");
+	}
+
+	@Test
+	void rejectsPatchesThatAreNotObjects() {
+		assertThatThrownBy(() -> mergePatch.apply(target, json("[{\"name\":\"Max\"}]")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> mergePatch.apply(target, null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsValuesOfTheWrongType() {
+		assertThatThrownBy(() -> mergePatch.apply(target, json("{\"birthDate\":\"ayer\"}")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void validatesPatchedFields() {
+		assertThatThrownBy(() -> mergePatch.apply(target, json("{\"name\":\"\"}")))
+				.isInstanceOf(ConstraintViolationException.class)
+				.satisfies(e -> assertThat(((ConstraintViolationException) e).getConstraintViolations())
+						.extracting(violation -> violation.getPropertyPath().toString())
+						.containsExactly("name"));
+	}
+
+	@Test
+	void doesNotValidateUntouchedFields() throws Exception {
+		target.setGender(null);
+
+		mergePatch.apply(target, json("{\"name\":\"Max\"}"));
+
+		assertThat(target.getName()).isEqualTo("Max");
+	}
+
+}